@@ -1,14 +1,17 @@
 package org.example.session.controllers;
 
+import org.example.session.data.dtos.request.cart.CartBatchDto;
 import org.example.session.data.dtos.request.cart.CartItemDto;
 import org.example.session.data.dtos.response.cart.CartResDto;
 import org.example.session.data.mappers.cart.CartMapper;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.CartService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/buyer/cart")
@@ -24,9 +27,9 @@ public class CartBuyerController {
     }
 
     @GetMapping
-    public ResponseEntity<CartResDto> getMyCart(@AuthenticationPrincipal UserServiceImpl principal) {
-        CartResDto res = cartMapper.toResDto(cartService.getMyCart(principal));
-        return ResponseEntity.ok(res);
+    public ResponseEntity<CartResDto> getMyCart(@AuthenticationPrincipal UserServiceImpl principal, WebRequest request) {
+        return ConditionalGet.respond(request, cartService.version(principal), CacheControl.noCache().cachePrivate(),
+                () -> cartMapper.toResDto(cartService.getMyCart(principal)));
     }
 
     @PostMapping("/items")
@@ -43,6 +46,13 @@ public class CartBuyerController {
         return ResponseEntity.ok(res);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<CartResDto> applyBatch(@AuthenticationPrincipal UserServiceImpl principal,
+                                                 @RequestBody CartBatchDto dto) {
+        CartResDto res = cartMapper.toResDto(cartService.applyBatch(principal, dto));
+        return ResponseEntity.ok(res);
+    }
+
     @DeleteMapping("/items/{productId}")
     public ResponseEntity<Void> removeItem(@AuthenticationPrincipal UserServiceImpl principal,
                                            @PathVariable Integer productId) {
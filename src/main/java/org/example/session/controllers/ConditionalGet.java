@@ -0,0 +1,36 @@
+package org.example.session.controllers;
+
+import org.example.session.service.version.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers GET requests whose If-None-Match / If-Modified-Since still match {@code version} with 304,
+ * without building the body. Otherwise the body is produced and sent with the validators.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version,
+                                                CacheControl cacheControl, Supplier<T> body) {
+        if (version == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+        }
+
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(cacheControl).eTag(version.etag());
+        if (version.lastModified() >= 0) {
+            ok.lastModified(version.lastModified());
+        }
+        return ok.body(body.get());
+    }
+}
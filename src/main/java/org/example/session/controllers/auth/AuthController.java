@@ -1,8 +1,11 @@
 package org.example.session.controllers.auth;
 
 import org.example.session.data.dtos.request.auth.ChangePassDto;
+import jakarta.servlet.http.HttpServletRequest;
 import org.example.session.data.dtos.request.auth.LoginDto;
+import org.example.session.data.dtos.request.auth.RefreshTokenDto;
 import org.example.session.data.dtos.request.auth.UpdateProfileDto;
+import org.example.session.data.dtos.response.TokenResDto;
 import org.example.session.data.dtos.response.UserResDto;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.AuthService;
@@ -10,7 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,6 +24,7 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final AuthService authService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Autowired
     public AuthController(AuthenticationManager authenticationManager, AuthService authService) {
@@ -27,11 +33,17 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody LoginDto req) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-        );
-        return ResponseEntity.ok("OK");
+    public ResponseEntity<TokenResDto> login(@RequestBody LoginDto req, HttpServletRequest request) {
+        var token = UsernamePasswordAuthenticationToken.unauthenticated(req.getEmail(), req.getPassword());
+        token.setDetails(detailsSource.buildDetails(request));
+
+        Authentication auth = authenticationManager.authenticate(token);
+        return ResponseEntity.ok(authService.issueTokens((UserServiceImpl) auth.getPrincipal()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResDto> refresh(@RequestBody RefreshTokenDto req) {
+        return ResponseEntity.ok(authService.refresh(req));
     }
 
     @GetMapping("/me")
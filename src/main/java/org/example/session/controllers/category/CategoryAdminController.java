@@ -2,6 +2,7 @@ package org.example.session.controllers.category;
 
 
 import org.example.session.data.dtos.request.CategoryDto;
+import org.example.session.data.dtos.response.CategoryCountsReconcileResDto;
 import org.example.session.data.dtos.response.CategoryResDto;
 import org.example.session.data.mappers.CategoryMapper;
 import org.example.session.service.CategoryService;
@@ -33,4 +34,9 @@ public class CategoryAdminController {
                 .created(URI.create("/api/categories/" + created.getId()))
                 .body(res);
     }
+
+    @PostMapping("/counts/reconcile")
+    public ResponseEntity<CategoryCountsReconcileResDto> reconcileCounts() {
+        return ResponseEntity.ok(categoryService.reconcileProductCounts());
+    }
 }
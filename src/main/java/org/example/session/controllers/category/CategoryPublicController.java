@@ -1,50 +1,74 @@
 package org.example.session.controllers.category;
 
+import org.example.session.controllers.ConditionalGet;
 import org.example.session.data.dtos.response.CategoryResDto;
-import org.example.session.data.mappers.CategoryMapper;
 import org.example.session.service.CategoryService;
+import org.example.session.service.category.CategoryProductCounts;
+import org.example.session.service.category.CategoryTree;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
+/**
+ * All reads come from the in-memory {@link CategoryTree}; each request uses one tree instance so the
+ * validators always match the body.
+ */
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryPublicController {
 
     private final CategoryService categoryService;
-    private final CategoryMapper categoryMapper;
 
     @Autowired
-    public CategoryPublicController(CategoryService categoryService, CategoryMapper categoryMapper) {
+    public CategoryPublicController(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.categoryMapper = categoryMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResDto>> roots() {
-        var res = categoryService.rootCategories()
-                .stream()
-                .map(categoryMapper::toResDto)
-                .toList();
-        return ResponseEntity.ok(res);
+    public ResponseEntity<List<CategoryResDto>> roots(WebRequest request) {
+        CategoryTree tree = categoryService.tree();
+        return ConditionalGet.respond(request, tree.version(), CacheControl.noCache(), tree::roots);
+    }
+
+    @GetMapping(value = "/tree", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> tree(WebRequest request) {
+        CategoryTree tree = categoryService.tree();
+        return ConditionalGet.respond(request, tree.version(), CacheControl.noCache(), tree::json);
+    }
+
+    /**
+     * ACTIVE products per category including subcategories; categories without any are omitted.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<Map<Integer, Integer>> counts(WebRequest request) {
+        CategoryProductCounts counts = categoryService.productCounts();
+        return ConditionalGet.respond(request, counts.version(), CacheControl.noCache(), counts::asMap);
     }
 
     @GetMapping("/{id}/children")
-    public ResponseEntity<List<CategoryResDto>> children(@PathVariable Integer id) {
-        var res = categoryService.children(id)
-                .stream()
-                .map(categoryMapper::toResDto)
-                .toList();
-        return ResponseEntity.ok(res);
+    public ResponseEntity<List<CategoryResDto>> children(@PathVariable Integer id, WebRequest request) {
+        CategoryTree tree = categoryService.tree();
+        return ConditionalGet.respond(request, tree.version(), CacheControl.noCache(), () -> tree.children(id));
+    }
+
+    @GetMapping("/{id}/path")
+    public ResponseEntity<List<CategoryResDto>> path(@PathVariable Integer id, WebRequest request) {
+        CategoryTree tree = categoryService.tree();
+        return ConditionalGet.respond(request, tree.version(), CacheControl.noCache(), () -> tree.path(id));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResDto> get(@PathVariable Integer id) {
-        return ResponseEntity.ok(categoryMapper.toResDto(categoryService.get(id)));
+    public ResponseEntity<CategoryResDto> get(@PathVariable Integer id, WebRequest request) {
+        CategoryTree tree = categoryService.tree();
+        return ConditionalGet.respond(request, tree.version(), CacheControl.noCache(), () -> tree.get(id));
     }
 }
@@ -1,14 +1,17 @@
 package org.example.session.controllers.inventory;
 
+import org.example.session.controllers.ConditionalGet;
 import org.example.session.data.dtos.response.InventoryResDto;
 import org.example.session.data.mappers.InventoryMapper;
 import org.example.session.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -24,8 +27,8 @@ public class InventoryPublicController {
     }
 
     @GetMapping("/products/{productId}")
-    public ResponseEntity<InventoryResDto> getByProduct(@PathVariable Integer productId) {
-        var res = inventoryMapper.toResDto(inventoryService.getByProductId(productId));
-        return ResponseEntity.ok(res);
+    public ResponseEntity<InventoryResDto> getByProduct(@PathVariable Integer productId, WebRequest request) {
+        return ConditionalGet.respond(request, inventoryService.version(productId), CacheControl.noCache(),
+                () -> inventoryMapper.toResDto(inventoryService.getByProductId(productId)));
     }
 }
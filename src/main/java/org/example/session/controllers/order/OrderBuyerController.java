@@ -4,8 +4,9 @@ import org.example.session.data.dtos.response.order.OrderResDto;
 import org.example.session.data.mappers.order.OrderMapper;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.OrderService;
+import org.example.session.service.paging.CountMode;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -33,12 +34,14 @@ public class OrderBuyerController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<OrderResDto>> myOrders(
+    public ResponseEntity<Slice<OrderResDto>> myOrders(
             @AuthenticationPrincipal UserServiceImpl principal,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "exact") String count
     ) {
-        Page<OrderResDto> res = orderService.myOrders(principal, page, size).map(orderMapper::toResDto);
+        Slice<OrderResDto> res = orderService.myOrders(principal, page, size, CountMode.parse(count))
+                .map(orderMapper::toResDto);
         return ResponseEntity.ok(res);
     }
 
@@ -1,24 +1,63 @@
 package org.example.session.controllers.product;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
 import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.ProductBulkUpdateResDto;
+import org.example.session.data.dtos.response.product.ProductListingRebuildResDto;
 import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.data.mappers.ProductMapper;
 import org.example.session.service.ProductService;
+import org.example.session.service.exporting.ExportFormat;
+import org.example.session.service.exporting.ProductExportService;
+import org.example.session.service.listing.ProductListingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/admin/products")
 public class ProductAdminController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductExportService productExportService;
+    private final ProductListingService productListingService;
 
     @Autowired
-    public ProductAdminController(ProductService productService, ProductMapper productMapper) {
+    public ProductAdminController(ProductService productService, ProductMapper productMapper,
+                                  ProductExportService productExportService,
+                                  ProductListingService productListingService) {
         this.productService = productService;
         this.productMapper = productMapper;
+        this.productExportService = productExportService;
+        this.productListingService = productListingService;
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(required = false) Integer sellerId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + exportFormat.extension() + "\"");
+        productExportService.export(sellerId, exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping("/listing/rebuild")
+    public ResponseEntity<ProductListingRebuildResDto> rebuildListing() {
+        return ResponseEntity.ok(productListingService.rebuild());
+    }
+
+    @PatchMapping
+    public ResponseEntity<ProductBulkUpdateResDto> bulkUpdate(@RequestBody ProductBulkUpdateDto dto) {
+        return ResponseEntity.ok(productService.bulkUpdateByAdmin(dto));
     }
 
     @PutMapping("/{id}")
@@ -1,12 +1,24 @@
 package org.example.session.controllers.product;
 
+import org.example.session.controllers.ConditionalGet;
+import org.example.session.data.dtos.response.product.CatalogBrowseResDto;
 import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.data.dtos.response.product.ProductSuggestionResDto;
 import org.example.session.data.mappers.ProductMapper;
 import org.example.session.service.ProductService;
+import org.example.session.service.catalog.CatalogFilter;
+import org.example.session.service.catalog.CatalogSort;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.CursorPage;
+import org.example.session.service.search.ProductSuggestService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -14,25 +26,75 @@ public class ProductPublicController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductSuggestService productSuggestService;
 
     @Autowired
-    public ProductPublicController(ProductService productService, ProductMapper productMapper) {
+    public ProductPublicController(ProductService productService, ProductMapper productMapper,
+                                   ProductSuggestService productSuggestService) {
         this.productService = productService;
         this.productMapper = productMapper;
+        this.productSuggestService = productSuggestService;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductResDto>> list(
+    public ResponseEntity<Slice<ProductResDto>> list(
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Long minPrice,
+            @RequestParam(required = false) Long maxPrice,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "exact") String count
+    ) {
+        CatalogFilter filter = new CatalogFilter(categoryId, minPrice, maxPrice, false, CatalogSort.NEWEST);
+        Slice<ProductResDto> res = productService.listPublic(filter, page, size, CountMode.parse(count));
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ProductResDto>> listAfter(
+            @RequestParam String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
-        Page<ProductResDto> res = productService.listPublic(page, size).map(productMapper::toResDto);
+        CursorPage<ProductResDto> res = productService.listPublicAfter(cursor, size);
         return ResponseEntity.ok(res);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<ProductResDto> get(@PathVariable Integer id) {
-        ProductResDto res = productMapper.toResDto(productService.getById(id));
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ProductResDto>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<ProductResDto> res = productService.search(query, categoryId, cursor, size).map(productMapper::toResDto);
         return ResponseEntity.ok(res);
     }
+
+    @GetMapping("/browse")
+    public ResponseEntity<CatalogBrowseResDto> browse(
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Long minPrice,
+            @RequestParam(required = false) Long maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CatalogFilter filter = new CatalogFilter(categoryId, minPrice, maxPrice, inStock, CatalogSort.parse(sort));
+        return ResponseEntity.ok(productService.browse(filter, page, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResDto>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productSuggestService.suggest(query, limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductResDto> get(@PathVariable Integer id, WebRequest request) {
+        return ConditionalGet.respond(request, productService.version(id), CacheControl.noCache(),
+                () -> productService.getDetails(id));
+    }
 }
\ No newline at end of file
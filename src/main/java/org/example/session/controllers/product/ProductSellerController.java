@@ -1,18 +1,30 @@
 package org.example.session.controllers.product;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
 import org.example.session.data.dtos.request.product.ProductDto;
 import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.ProductBulkUpdateResDto;
+import org.example.session.data.dtos.response.product.ProductImportResDto;
 import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.data.mappers.ProductMapper;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.ProductService;
+import org.example.session.service.exporting.ExportFormat;
+import org.example.session.service.exporting.ProductExportService;
+import org.example.session.service.importing.ImportFormat;
+import org.example.session.service.importing.ProductImportService;
+import org.example.session.service.paging.CountMode;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 
 @RestController
@@ -21,11 +33,17 @@ public class ProductSellerController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
 
     @Autowired
-    public ProductSellerController(ProductService productService, ProductMapper productMapper) {
+    public ProductSellerController(ProductService productService, ProductMapper productMapper,
+                                   ProductImportService productImportService,
+                                   ProductExportService productExportService) {
         this.productService = productService;
         this.productMapper = productMapper;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
     }
 
     @PostMapping
@@ -39,16 +57,52 @@ public class ProductSellerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(res);
     }
 
+    /**
+     * Streams a CSV ({@code text/csv}, header row required) or NDJSON ({@code application/x-ndjson})
+     * upload of products with {@code category_id, title, description, price, quantity}.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductImportResDto> importProducts(
+            @AuthenticationPrincipal UserServiceImpl principal,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        var res = productImportService.importProducts(principal, body, ImportFormat.fromContentType(contentType));
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @AuthenticationPrincipal UserServiceImpl principal,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + exportFormat.extension() + "\"");
+        productExportService.export(principal.getId(), exportFormat, response.getOutputStream());
+    }
+
     @GetMapping
-    public ResponseEntity<Page<ProductResDto>> myProducts(
+    public ResponseEntity<Slice<ProductResDto>> myProducts(
             @AuthenticationPrincipal UserServiceImpl principal,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "exact") String count
     ) {
-        Page<ProductResDto> res = productService.listSellerProducts(principal, page, size).map(productMapper::toResDto);
+        Slice<ProductResDto> res = productService.listSellerProducts(principal, page, size, CountMode.parse(count));
         return ResponseEntity.ok(res);
     }
 
+    @PatchMapping
+    public ResponseEntity<ProductBulkUpdateResDto> bulkUpdate(
+            @AuthenticationPrincipal UserServiceImpl principal,
+            @RequestBody ProductBulkUpdateDto dto
+    ) {
+        return ResponseEntity.ok(productService.bulkUpdateBySeller(principal, dto));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductResDto> update(
             @AuthenticationPrincipal UserServiceImpl principal,
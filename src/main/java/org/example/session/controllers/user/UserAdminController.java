@@ -0,0 +1,31 @@
+package org.example.session.controllers.user;
+
+import org.example.session.data.dtos.request.UserRoleDto;
+import org.example.session.data.dtos.request.UserStatusDto;
+import org.example.session.data.dtos.response.UserResDto;
+import org.example.session.service.AuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserAdminController {
+
+    private final AuthService authService;
+
+    @Autowired
+    public UserAdminController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<UserResDto> updateStatus(@PathVariable Integer id, @RequestBody UserStatusDto dto) {
+        return ResponseEntity.ok(authService.updateStatusByAdmin(id, dto.getStatus()));
+    }
+
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserResDto> updateRole(@PathVariable Integer id, @RequestBody UserRoleDto dto) {
+        return ResponseEntity.ok(authService.updateRoleByAdmin(id, dto.getRole()));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.session.data.dtos.request;
+
+import lombok.Data;
+
+@Data
+public class UserRoleDto {
+    private String role;
+}
@@ -0,0 +1,10 @@
+package org.example.session.data.dtos.request.auth;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class RefreshTokenDto {
+    private String refreshToken;
+}
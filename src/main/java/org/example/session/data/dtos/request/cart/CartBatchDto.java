@@ -0,0 +1,21 @@
+package org.example.session.data.dtos.request.cart;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CartBatchDto {
+    private List<Op> ops;
+
+    /**
+     * One cart edit: {@code add} (quantity defaults to 1), {@code set} (0 or less removes the line)
+     * or {@code remove}. Operations apply in list order.
+     */
+    @Data
+    public static class Op {
+        private String op;
+        private Integer productId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.session.data.dtos.request.product;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProductBulkUpdateDto {
+    private List<Item> items;
+
+    /**
+     * Changes for one product; {@code null} fields are left as they are.
+     */
+    @Data
+    public static class Item {
+        private Integer id;
+        private Long price;
+        private String status;
+        private Integer categoryId;
+    }
+}
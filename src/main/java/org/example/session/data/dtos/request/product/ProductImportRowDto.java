@@ -0,0 +1,14 @@
+package org.example.session.data.dtos.request.product;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import lombok.Data;
+
+@Data
+public class ProductImportRowDto {
+    @JsonAlias("category_id")
+    private Integer categoryId;
+    private String title;
+    private String description;
+    private Long price;
+    private Integer quantity;
+}
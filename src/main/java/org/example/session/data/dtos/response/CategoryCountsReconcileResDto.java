@@ -0,0 +1,13 @@
+package org.example.session.data.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCountsReconcileResDto {
+    private Integer corrected;
+    private Long elapsedMs;
+}
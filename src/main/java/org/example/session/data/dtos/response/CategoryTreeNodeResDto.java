@@ -0,0 +1,17 @@
+package org.example.session.data.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTreeNodeResDto {
+    private Integer id;
+    private String name;
+
+    private List<CategoryTreeNodeResDto> children;
+}
@@ -0,0 +1,12 @@
+package org.example.session.data.dtos.response;
+
+import lombok.Data;
+
+@Data
+public class TokenResDto {
+    private String tokenType;
+    private String accessToken;
+    private Long expiresIn;
+    private String refreshToken;
+    private Long refreshExpiresIn;
+}
@@ -0,0 +1,17 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CatalogBrowseResDto {
+    private List<ProductResDto> items;
+
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+
+    private List<PriceBucketResDto> priceBuckets;
+    private List<CategoryFacetResDto> categories;
+}
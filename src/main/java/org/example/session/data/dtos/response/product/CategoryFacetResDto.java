@@ -0,0 +1,14 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetResDto {
+    private Long categoryId;
+    private String name;
+    private Long count;
+}
@@ -0,0 +1,14 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketResDto {
+    private Long from;
+    private Long to;
+    private Long count;
+}
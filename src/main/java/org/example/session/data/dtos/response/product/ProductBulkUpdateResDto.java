@@ -0,0 +1,21 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateResDto {
+    private Integer requested;
+    private Integer updated;
+
+    /**
+     * Ids that were not changed: unknown, owned by another seller, or with an invalid status,
+     * category or price.
+     */
+    private List<Integer> rejectedIds;
+}
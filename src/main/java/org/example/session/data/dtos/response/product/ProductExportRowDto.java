@@ -0,0 +1,28 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ProductExportRowDto {
+    private Long id;
+
+    private Long sellerId;
+    private String sellerEmail;
+
+    private Long categoryId;
+    private String categoryName;
+
+    private String title;
+    private String description;
+
+    private Long price;
+    private String status;
+
+    private Integer quantity;
+    private Integer reserved;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,19 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductImportResDto {
+    private Long rowsRead = 0L;
+    private Long imported = 0L;
+    private Long failed = 0L;
+
+    private List<ProductImportErrorResDto> errors = new ArrayList<>();
+    private Boolean errorsTruncated = false;
+
+    private Long elapsedMs;
+    private Double rowsPerSecond;
+}
@@ -0,0 +1,13 @@
+package org.example.session.data.dtos.response.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductListingRebuildResDto {
+    private Integer rows;
+    private Long elapsedMs;
+}
@@ -1,10 +1,14 @@
 package org.example.session.data.dtos.response.product;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductResDto {
     private Long id;
 
@@ -20,4 +24,7 @@ public class ProductResDto {
     private Long price;
 
     private String status;
+
+    private Instant createdAt;
+    private Instant updatedAt;
 }
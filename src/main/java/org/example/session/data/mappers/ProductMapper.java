@@ -2,6 +2,7 @@ package org.example.session.data.mappers;
 
 import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.db.entity.Product;
+import org.example.session.db.projection.ProductSearchRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,4 +14,8 @@ public interface ProductMapper {
     @Mapping(target = "categoryId", source = "category.id")
     @Mapping(target = "categoryName", source = "category.name")
     ProductResDto toResDto(Product product);
-}
\ No newline at end of file
+
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    ProductResDto toResDto(ProductSearchRow row);
+}
@@ -12,10 +12,14 @@ public interface UserMapper {
     @Mapping(target = "role", source = "role.name")
     UserResDto toResponse(User user);
 
+    @Mapping(target = "role", source = "roleName")
+    UserResDto toResponse(User user, String roleName);
+
     @Mapping(target = "id",  ignore = true)
     @Mapping(target = "passwordHash",  ignore = true)
     @Mapping(target = "status",  ignore = true)
     @Mapping(target = "role",  ignore = true)
+    @Mapping(target = "tokenVersion",  ignore = true)
     @Mapping(target = "createdAt",  ignore = true)
     @Mapping(target = "updatedAt",  ignore = true)
     User toEntity(RegisterDto registerDto);
@@ -25,6 +29,7 @@ public interface UserMapper {
     @Mapping(target = "passwordHash",  ignore = true)
     @Mapping(target = "status",  ignore = true)
     @Mapping(target = "role",  ignore = true)
+    @Mapping(target = "tokenVersion",  ignore = true)
     @Mapping(target = "createdAt",  ignore = true)
     @Mapping(target = "updatedAt",  ignore = true)
     User toEntity(LoginDto loginDto);
@@ -0,0 +1,59 @@
+package org.example.session.db.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.Instant;
+
+/**
+ * Denormalized listing row per product, maintained by database triggers. {@link Synchronize} makes
+ * Hibernate flush pending product, user, category and inventory changes before querying it.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Synchronize({"products", "users", "categories", "inventory"})
+@Table(name = "product_listing")
+public class ProductListing {
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Integer sellerId;
+
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @Column(name = "category_name", nullable = false, length = 80)
+    private String categoryName;
+
+    @Column(name = "title", nullable = false, length = 160)
+    private String title;
+
+    @Column(name = "description", length = Integer.MAX_VALUE)
+    private String description;
+
+    @Column(name = "price", nullable = false)
+    private Long price;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "available", nullable = false)
+    private Integer available;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+}
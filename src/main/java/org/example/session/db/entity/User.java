@@ -30,7 +30,11 @@ public class User {
     @Column(name = "status", nullable = false, length = 20)
     private String status;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id")
     private Role role;
 
@@ -0,0 +1,23 @@
+package org.example.session.db.projection;
+
+public interface ProductSearchRow {
+    Integer getId();
+
+    Integer getSellerId();
+
+    String getSellerEmail();
+
+    Integer getCategoryId();
+
+    String getCategoryName();
+
+    String getTitle();
+
+    String getDescription();
+
+    Long getPrice();
+
+    String getStatus();
+
+    Float getRank();
+}
@@ -0,0 +1,15 @@
+package org.example.session.db.projection;
+
+public interface UserCredentials {
+    Integer getId();
+
+    String getEmail();
+
+    String getPasswordHash();
+
+    String getStatus();
+
+    Integer getRoleId();
+
+    Integer getTokenVersion();
+}
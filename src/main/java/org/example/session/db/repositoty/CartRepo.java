@@ -4,9 +4,21 @@ import org.example.session.db.entity.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface CartRepo extends JpaRepository<Cart, Integer> {
     @Query("select c from Cart c where c.buyer.id = :buyerId")
     Optional<Cart> findByBuyer_Id(Integer buyerId);
+
+    /**
+     * Latest change to the cart or to any product in it (item titles come from the product).
+     */
+    @Query("""
+            select greatest(c.updatedAt, coalesce(max(p.updatedAt), c.updatedAt))
+            from Cart c left join c.items i left join i.product p
+            where c.buyer.id = :buyerId
+            group by c.id, c.updatedAt
+            """)
+    Optional<Instant> findVersionByBuyer_Id(Integer buyerId);
 }
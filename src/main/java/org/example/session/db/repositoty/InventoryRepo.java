@@ -2,9 +2,14 @@ package org.example.session.db.repositoty;
 
 import org.example.session.db.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface InventoryRepo extends JpaRepository<Inventory, Integer> {
     Optional<Inventory> findByProduct_Id(Integer productId);
+
+    @Query("select i.updatedAt from Inventory i where i.product.id = :productId")
+    Optional<Instant> findUpdatedAtByProduct_Id(Integer productId);
 }
@@ -0,0 +1,53 @@
+package org.example.session.db.repositoty;
+
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.db.entity.ProductListing;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * List reads over {@code product_listing}: one table, no joins.
+ */
+public interface ProductListingRepo extends JpaRepository<ProductListing, Integer> {
+
+    String RES_DTO = """
+            new org.example.session.data.dtos.response.product.ProductResDto(
+                cast(l.productId as Long), cast(l.sellerId as Long), l.sellerEmail, cast(l.categoryId as Long),
+                l.categoryName, l.title, l.description, l.price, l.status, l.createdAt, l.updatedAt)
+            """;
+
+    @Query(value = "select " + RES_DTO + " from ProductListing l where l.status = :status",
+            countQuery = "select count(l) from ProductListing l where l.status = :status")
+    Page<ProductResDto> findResDtoPageByStatus(String status, Pageable pageable);
+
+    @Query("select " + RES_DTO + " from ProductListing l where l.status = :status")
+    Slice<ProductResDto> findResDtoSliceByStatus(String status, Pageable pageable);
+
+    @Query(value = "select " + RES_DTO + " from ProductListing l where l.sellerId = :sellerId",
+            countQuery = "select count(l) from ProductListing l where l.sellerId = :sellerId")
+    Page<ProductResDto> findResDtoPageBySeller(Integer sellerId, Pageable pageable);
+
+    @Query("select " + RES_DTO + " from ProductListing l where l.sellerId = :sellerId")
+    Slice<ProductResDto> findResDtoSliceBySeller(Integer sellerId, Pageable pageable);
+
+    @Query("select " + RES_DTO + """
+            from ProductListing l
+            where l.status = :status
+            order by l.createdAt desc, l.productId desc
+            """)
+    List<ProductResDto> findKeysetFirst(String status, Pageable pageable);
+
+    @Query("select " + RES_DTO + """
+            from ProductListing l
+            where l.status = :status
+              and (l.createdAt, l.productId) < (:createdAt, :id)
+            order by l.createdAt desc, l.productId desc
+            """)
+    List<ProductResDto> findKeysetAfter(String status, Instant createdAt, Integer id, Pageable pageable);
+}
@@ -1,14 +1,57 @@
 package org.example.session.db.repositoty;
 
+import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.db.entity.Product;
+import org.example.session.db.projection.ProductSearchRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepo extends JpaRepository<Product, Integer> {
     Page<Product> findAllByStatus(String status, Pageable pageable);
     Page<Product> findAllBySeller_Id(Integer sellerId, Pageable pageable);
     Optional<Product> findByIdAndSeller_Id(Integer id, Integer sellerId);
+
+    String RES_DTO = """
+            new org.example.session.data.dtos.response.product.ProductResDto(
+                cast(p.id as Long), cast(s.id as Long), s.email, cast(c.id as Long), c.name,
+                p.title, p.description, p.price, p.status, p.createdAt, p.updatedAt)
+            """;
+
+    @Query("select " + RES_DTO + " from Product p join p.seller s join p.category c where p.id = :id")
+    Optional<ProductResDto> findResDtoById(Integer id);
+
+    @Query("select p.updatedAt from Product p where p.id = :id")
+    Optional<Instant> findUpdatedAtById(Integer id);
+
+    /**
+     * Ranked full-text match on the generated {@code search_vector} column, keyset-paged on (rank, id).
+     * Pass null for {@code afterRank}/{@code afterId} to get the first page. A category matches its whole subtree.
+     */
+    @Query(nativeQuery = true, value = """
+            select p.id as id, p.seller_id as sellerId, u.email as sellerEmail,
+                   p.category_id as categoryId, c.name as categoryName,
+                   p.title as title, p.description as description, p.price as price, p.status as status,
+                   r.rank as rank
+            from products p
+            cross join websearch_to_tsquery('simple', :query) q
+            cross join lateral (select ts_rank_cd(p.search_vector, q) as rank) r
+            join users u on u.id = p.seller_id
+            join categories c on c.id = p.category_id
+            where p.search_vector @@ q
+              and p.status = :status
+              and (cast(:categoryId as integer) is null or p.category_id in (
+                   select cc.descendant_id from category_closure cc where cc.ancestor_id = :categoryId))
+              and (cast(:afterRank as real) is null
+                   or (r.rank, p.id) < (cast(:afterRank as real), cast(:afterId as integer)))
+            order by r.rank desc, p.id desc
+            limit :limit
+            """)
+    List<ProductSearchRow> search(String query, String status, Integer categoryId,
+                                  Float afterRank, Integer afterId, int limit);
 }
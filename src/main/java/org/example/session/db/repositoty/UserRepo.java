@@ -1,11 +1,32 @@
 package org.example.session.db.repositoty;
 
 import org.example.session.db.entity.User;
+import org.example.session.db.projection.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepo extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("""
+            select u.id as id, u.email as email, u.passwordHash as passwordHash, u.status as status,
+                   u.role.id as roleId, u.tokenVersion as tokenVersion
+            from User u
+            where u.email = :email
+            """)
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :newHash where u.id = :id and u.passwordHash = :oldHash")
+    int replacePasswordHash(Integer id, String oldHash, String newHash);
+
+    @Query("select u.id, u.tokenVersion from User u where u.tokenVersion > 0")
+    List<Object[]> findRevokedTokenVersions();
 }
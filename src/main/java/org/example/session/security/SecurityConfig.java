@@ -1,44 +1,122 @@
 package org.example.session.security;
 
+import org.example.session.security.cache.CachingAuthenticationProvider;
+import org.example.session.security.cache.VerifiedCredentialCache;
+import org.example.session.security.hash.BCryptStrengthCalibrator;
+import org.example.session.security.hash.PasswordCostProfiles;
+import org.example.session.security.throttle.CatalogThrottle;
+import org.example.session.security.throttle.CatalogThrottleFilter;
+import org.example.session.security.throttle.LoginThrottle;
+import org.example.session.security.throttle.ThrottlingAuthenticationEntryPoint;
+import org.example.session.security.throttle.ThrottlingAuthenticationProvider;
+import org.example.session.security.token.BearerTokenAuthenticationFilter;
+import org.example.session.security.token.TokenService;
+import org.example.session.security.user.DbUserDetailsService;
+import org.example.session.security.user.RehashingAuthenticationProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+
+import java.time.Duration;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.hashing.profile:bcrypt-10}") String profile,
+                                           @Value("${app.security.hashing.calibrate:false}") boolean calibrate,
+                                           @Value("${app.security.hashing.calibration-target:250ms}") Duration target) {
+        String current = calibrate
+                ? PasswordCostProfiles.profileOf(BCryptStrengthCalibrator.calibrate(
+                        target, PasswordCostProfiles.MIN_STRENGTH, PasswordCostProfiles.MAX_STRENGTH))
+                : profile;
+        return PasswordCostProfiles.delegating(current);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration cfg) throws Exception {
-        return cfg.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(DbUserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder,
+                                                       VerifiedCredentialCache credentialCache,
+                                                       LoginThrottle loginThrottle) {
+        DaoAuthenticationProvider dao = new RehashingAuthenticationProvider(userDetailsService, passwordEncoder);
+
+        return new ProviderManager(new CachingAuthenticationProvider(
+                new ThrottlingAuthenticationProvider(dao, loginThrottle), credentialCache));
     }
 
+    /**
+     * Read-only storefront endpoints. No authentication, security context, request cache or session
+     * handling runs here, only the per-address throttle, so credentials sent along are simply ignored.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain catalogFilterChain(HttpSecurity http, CatalogThrottle catalogThrottle) throws Exception {
+        PathPatternRequestMatcher.Builder get = PathPatternRequestMatcher.withDefaults();
+
         return http
+                .securityMatcher(new OrRequestMatcher(
+                        get.matcher(HttpMethod.GET, "/api/products/**"),
+                        get.matcher(HttpMethod.GET, "/api/categories/**"),
+                        get.matcher(HttpMethod.GET, "/api/inventory/products/**")
+                ))
                 .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+
+                .addFilterBefore(new CatalogThrottleFilter(catalogThrottle), AuthorizationFilter.class)
+
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           AuthenticationManager authenticationManager,
+                                           TokenService tokenService) throws Exception {
+        BasicAuthenticationEntryPoint basicEntryPoint = new BasicAuthenticationEntryPoint();
+        basicEntryPoint.setRealmName("Realm");
+        AuthenticationEntryPoint entryPoint = new ThrottlingAuthenticationEntryPoint(basicEntryPoint);
+
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+
+                .authenticationManager(authenticationManager)
 
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
-                .httpBasic(basic -> {})
+                .httpBasic(basic -> basic.authenticationEntryPoint(entryPoint))
+                .exceptionHandling(eh -> eh.authenticationEntryPoint(entryPoint))
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
 
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/refresh").permitAll()
 
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/seller/**").hasRole("SELLER")
                         .requestMatchers("/api/buyer/**").hasRole("BUYER")
 
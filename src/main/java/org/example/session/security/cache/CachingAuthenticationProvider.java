@@ -0,0 +1,50 @@
+package org.example.session.security.cache;
+
+import org.example.session.security.user.UserServiceImpl;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, VerifiedCredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        String secret = authentication.getCredentials() == null ? null : authentication.getCredentials().toString();
+
+        UserDetails cached = credentialCache.get(email, secret);
+        if (cached != null) {
+            var result = UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        long epoch = credentialCache.currentEpoch();
+        Authentication result = delegate.authenticate(authentication);
+
+        if (result != null && result.getPrincipal() instanceof UserServiceImpl principal) {
+            UserServiceImpl snapshot = principal.withoutPassword();
+            credentialCache.put(email, secret, snapshot, epoch);
+
+            var authenticated = UsernamePasswordAuthenticationToken.authenticated(snapshot, null, snapshot.getAuthorities());
+            authenticated.setDetails(result.getDetails());
+            return authenticated;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
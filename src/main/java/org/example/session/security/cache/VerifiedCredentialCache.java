@@ -0,0 +1,133 @@
+package org.example.session.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of credentials that already passed a full password check.
+ * Only a keyed digest of the presented secret is kept, never the secret itself.
+ */
+@Component
+public class VerifiedCredentialCache implements MeterBinder {
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final SecretKeySpec digestKey;
+    private final ThreadLocal<Mac> macs;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public VerifiedCredentialCache(@Value("${app.security.credential-cache.enabled:true}") boolean enabled,
+                                   @Value("${app.security.credential-cache.max-size:10000}") long maxSize,
+                                   @Value("${app.security.credential-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    public UserDetails get(String email, String secret) {
+        if (!enabled || email == null || secret == null) {
+            return null;
+        }
+
+        Entry entry = cache.getIfPresent(email);
+        if (entry == null || !MessageDigest.isEqual(entry.digest(), digest(email, secret))) {
+            return null;
+        }
+        return entry.principal();
+    }
+
+    /**
+     * Stores a verified principal unless an invalidation happened after {@code epochAtStart},
+     * so a check that raced with a password change cannot resurrect the old secret.
+     */
+    public void put(String email, String secret, UserDetails principal, long epochAtStart) {
+        if (!enabled || email == null || secret == null) {
+            return;
+        }
+
+        Entry entry = new Entry(digest(email, secret), principal);
+        if (epoch.get() == epochAtStart) {
+            cache.put(email, entry);
+        }
+    }
+
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+
+        epoch.incrementAndGet();
+        cache.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    epoch.incrementAndGet();
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.credentials");
+    }
+
+    private byte[] digest(String email, String secret) {
+        Mac mac = macs.get();
+        mac.update(email.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize credential digest", e);
+        }
+    }
+
+    private record Entry(byte[] digest, UserDetails principal) {
+    }
+}
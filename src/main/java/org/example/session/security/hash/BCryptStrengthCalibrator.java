@@ -0,0 +1,58 @@
+package org.example.session.security.hash;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Measures BCrypt on the current host and picks the highest strength whose median
+ * hash time stays within the target. Each strength is warmed up before it is sampled.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Pa55word!";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        int chosen = minStrength;
+
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            Duration median = measure(strength);
+            log.info("BCrypt strength {}: median {} ms, ~{} hashes/s per core",
+                    strength, median.toMillis(), median.isZero() ? "n/a" : 1_000_000_000L / median.toNanos());
+
+            if (median.compareTo(target) > 0) {
+                break;
+            }
+            chosen = strength;
+        }
+
+        log.info("BCrypt strength {} selected for a {} ms target", chosen, target.toMillis());
+        return chosen;
+    }
+
+    public static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[MEASURED_ROUNDS / 2]);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.session.security.hash;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+public class HashingCapacityExceededException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public HashingCapacityExceededException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Password hashing capacity exceeded, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.session.security.hash;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The stored hash changed while the new one was being computed outside the transaction,
+ * so the request was based on a stale password and the client should retry.
+ */
+public class PasswordChangedConcurrentlyException extends ResponseStatusException {
+
+    public PasswordChangedConcurrentlyException() {
+        super(HttpStatus.CONFLICT, "Password was changed concurrently");
+    }
+}
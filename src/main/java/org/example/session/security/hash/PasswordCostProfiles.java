@@ -0,0 +1,51 @@
+package org.example.session.security.hash;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named hashing cost profiles ({@code bcrypt-8} .. {@code bcrypt-14}). Hashes are stored with the
+ * profile prefix, e.g. {@code {bcrypt-12}$2a$12$...}, so moving the current profile up or down makes
+ * every older hash eligible for a rehash on the owner's next successful login.
+ */
+public final class PasswordCostProfiles {
+
+    public static final int MIN_STRENGTH = 8;
+    public static final int MAX_STRENGTH = 14;
+
+    private static final String PREFIX = "bcrypt-";
+
+    private PasswordCostProfiles() {
+    }
+
+    public static String profileOf(int strength) {
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalArgumentException("Unsupported bcrypt strength: " + strength);
+        }
+        return PREFIX + strength;
+    }
+
+    public static Map<String, PasswordEncoder> encoders() {
+        Map<String, PasswordEncoder> encoders = new LinkedHashMap<>();
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            encoders.put(profileOf(strength), new BCryptPasswordEncoder(strength));
+        }
+        return encoders;
+    }
+
+    public static PasswordEncoder delegating(String currentProfile) {
+        Map<String, PasswordEncoder> encoders = encoders();
+        if (!encoders.containsKey(currentProfile)) {
+            throw new IllegalArgumentException("Unknown password profile: " + currentProfile);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(currentProfile, encoders);
+        // hashes written before profiles existed carry no prefix, they are plain bcrypt
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.session.security.hash;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing on a small dedicated pool so that bursts of registrations or
+ * password changes cannot take every core away from regular request threads.
+ * When the bounded queue is full the caller gets a 503 with Retry-After instead of waiting.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder, DisposableBean {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingExecutor(PasswordEncoder encoder,
+                                   @Value("${app.security.hashing.threads:0}") int threads,
+                                   @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.hashing.max-wait:5s}") Duration maxWait,
+                                   @Value("${app.security.hashing.retry-after:1s}") Duration retryAfter) {
+        this.encoder = encoder;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitCount.increment();
+                waitNanos.add(startedAt - submittedAt);
+                try {
+                    return hashing.call();
+                } finally {
+                    hashCount.increment();
+                    hashNanos.add(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfter);
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Drops the task if it is still queued. BCrypt does not check for interrupts, so a hash that
+            // already started keeps its worker until it finishes; that thread stays busy (and counted in
+            // auth.hashing.active), and callers behind it see the reduced capacity as queueing or 503s.
+            future.cancel(true);
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfter);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionTimer.builder("auth.hashing.wait", this,
+                        x -> x.waitCount.sum(), x -> x.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionTimer.builder("auth.hashing.latency", this,
+                        x -> x.hashCount.sum(), x -> x.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionCounter.builder("auth.hashing.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.session.security.throttle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-address limit for the anonymous catalog reads, which bypass authentication entirely.
+ */
+@Component
+public class CatalogThrottle implements MeterBinder {
+
+    private final boolean enabled;
+    private final RateLimiter byAddress;
+
+    public CatalogThrottle(@Value("${app.security.catalog-throttle.enabled:true}") boolean enabled,
+                           @Value("${app.security.catalog-throttle.per-minute:600}") long perMinute,
+                           @Value("${app.security.catalog-throttle.burst:100}") int burst,
+                           @Value("${app.security.catalog-throttle.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.byAddress = new RateLimiter("catalog", perMinute, burst, maxKeys);
+    }
+
+    public Duration tryAcquire(String remoteAddress) {
+        return enabled ? byAddress.tryAcquire(remoteAddress) : Duration.ZERO;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byAddress.bindTo(registry);
+    }
+}
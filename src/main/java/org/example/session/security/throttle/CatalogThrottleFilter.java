@@ -0,0 +1,35 @@
+package org.example.session.security.throttle;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class CatalogThrottleFilter extends OncePerRequestFilter {
+
+    private final CatalogThrottle catalogThrottle;
+
+    public CatalogThrottleFilter(CatalogThrottle catalogThrottle) {
+        this.catalogThrottle = catalogThrottle;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Duration wait = catalogThrottle.tryAcquire(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.session.security.throttle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limits password checks per account and per client address. Both buckets are consulted
+ * before any hashing happens, so a stuffing run costs one CAS per attempt instead of a BCrypt verify.
+ */
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private final boolean enabled;
+    private final RateLimiter byAccount;
+    private final RateLimiter byAddress;
+
+    public LoginThrottle(@Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.security.login-throttle.account.per-minute:10}") long accountPerMinute,
+                         @Value("${app.security.login-throttle.account.burst:5}") int accountBurst,
+                         @Value("${app.security.login-throttle.address.per-minute:60}") long addressPerMinute,
+                         @Value("${app.security.login-throttle.address.burst:20}") int addressBurst,
+                         @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.byAccount = new RateLimiter("account", accountPerMinute, accountBurst, maxKeys);
+        this.byAddress = new RateLimiter("address", addressPerMinute, addressBurst, maxKeys);
+    }
+
+    public void check(String email, String remoteAddress) {
+        if (!enabled) {
+            return;
+        }
+
+        String account = email == null ? null : email.toLowerCase(Locale.ROOT);
+
+        // Probe both first: a locked account must not drain the address bucket, and vice versa.
+        Duration addressWait = byAddress.probe(remoteAddress);
+        Duration accountWait = byAccount.probe(account);
+        if (!addressWait.isZero()) {
+            byAddress.recordRejection();
+        }
+        if (!accountWait.isZero()) {
+            byAccount.recordRejection();
+        }
+        Duration wait = addressWait.compareTo(accountWait) >= 0 ? addressWait : accountWait;
+
+        if (wait.isZero()) {
+            wait = byAddress.tryAcquire(remoteAddress);
+        }
+        if (wait.isZero()) {
+            wait = byAccount.tryAcquire(account);
+        }
+
+        if (!wait.isZero()) {
+            throw new LoginThrottledException(wait);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byAccount.bindTo(registry);
+        byAddress.bindTo(registry);
+    }
+}
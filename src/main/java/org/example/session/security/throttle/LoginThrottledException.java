@@ -0,0 +1,17 @@
+package org.example.session.security.throttle;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+import java.time.Duration;
+
+@Getter
+public class LoginThrottledException extends AuthenticationException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many login attempts");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.session.security.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token bucket implemented as GCRA: each key holds a single "theoretical arrival time"
+ * that is advanced with a CAS, so checks never take a lock. Keys live in a bounded cache and
+ * expire once their bucket would have refilled completely, which makes eviction lossless.
+ */
+public class RateLimiter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(String name, long ratePerMinute, int burst, long maxKeys) {
+        if (ratePerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive for limiter " + name);
+        }
+
+        this.name = name;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / ratePerMinute;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(intervalNanos * burst))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return {@code 0} when the call is allowed, otherwise how long the caller should wait
+     */
+    public Duration tryAcquire(String key) {
+        if (key == null) {
+            return Duration.ZERO;
+        }
+
+        AtomicLong state = buckets.get(key, k -> new AtomicLong(EMPTY));
+        while (true) {
+            long now = System.nanoTime();
+            long current = state.get();
+            long tat = current == EMPTY ? now : Math.max(current, now);
+
+            long wait = tat - toleranceNanos - now;
+            if (wait > 0) {
+                rejected.increment();
+                return Duration.ofNanos(wait);
+            }
+
+            if (state.compareAndSet(current, tat + intervalNanos)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Same answer as {@link #tryAcquire(String)} but leaves the bucket untouched, so callers can
+     * check several limiters before spending from any of them. Nothing is counted here; a caller that
+     * refuses the attempt because of the answer reports it through {@link #recordRejection()}.
+     */
+    public Duration probe(String key) {
+        if (key == null) {
+            return Duration.ZERO;
+        }
+
+        AtomicLong state = buckets.getIfPresent(key);
+        long current = state == null ? EMPTY : state.get();
+        if (current == EMPTY) {
+            return Duration.ZERO;
+        }
+
+        long now = System.nanoTime();
+        long wait = Math.max(current, now) - toleranceNanos - now;
+        return wait > 0 ? Duration.ofNanos(wait) : Duration.ZERO;
+    }
+
+    public void recordRejection() {
+        rejected.increment();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.throttle.rejected", rejected, LongAdder::sum)
+                .tag("limiter", name)
+                .register(registry);
+        Gauge.builder("auth.throttle.keys", buckets, Cache::estimatedSize)
+                .tag("limiter", name)
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, buckets, "auth.throttle." + name);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.session.security.throttle;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.session.security.token.BearerTokenAuthenticationFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.io.IOException;
+
+/**
+ * Answers throttled logins with 429 and Retry-After and rejected bearer tokens with a Bearer challenge,
+ * everything else goes to the regular entry point.
+ */
+public class ThrottlingAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private final AuthenticationEntryPoint delegate;
+
+    public ThrottlingAuthenticationEntryPoint(AuthenticationEntryPoint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request,
+                         HttpServletResponse response,
+                         AuthenticationException authException) throws IOException, ServletException {
+        if (authException instanceof LoginThrottledException throttled) {
+            long seconds = Math.max(1, (throttled.getRetryAfter().toMillis() + 999) / 1000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), throttled.getMessage());
+            return;
+        }
+        if (request.getAttribute(BearerTokenAuthenticationFilter.INVALID_TOKEN) != null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        delegate.commence(request, response, authException);
+    }
+}
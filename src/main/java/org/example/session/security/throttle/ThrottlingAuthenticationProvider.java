@@ -0,0 +1,32 @@
+package org.example.session.security.throttle;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+public class ThrottlingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final LoginThrottle loginThrottle;
+
+    public ThrottlingAuthenticationProvider(AuthenticationProvider delegate, LoginThrottle loginThrottle) {
+        this.delegate = delegate;
+        this.loginThrottle = loginThrottle;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String address = authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+
+        loginThrottle.check(authentication.getName(), address);
+        return delegate.authenticate(authentication);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.session.security.token;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.session.security.user.UserServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set when a bearer token was sent but rejected, so the entry point can say so.
+     */
+    public static final String INVALID_TOKEN = BearerTokenAuthenticationFilter.class.getName() + ".INVALID_TOKEN";
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public BearerTokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<TokenClaims> claims = tokenService.parseAccessToken(header.substring(BEARER.length()).trim());
+        if (claims.isEmpty()) {
+            // stay anonymous: permitAll routes still answer, protected ones end up at the entry point
+            SecurityContextHolder.clearContext();
+            request.setAttribute(INVALID_TOKEN, Boolean.TRUE);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        TokenClaims token = claims.get();
+        UserServiceImpl principal = new UserServiceImpl(
+                token.userId(), token.email(), token.role(), "ACTIVE", token.tokenVersion(), null);
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+
+        chain.doFilter(request, response);
+    }
+}
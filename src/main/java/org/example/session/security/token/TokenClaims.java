@@ -0,0 +1,6 @@
+package org.example.session.security.token;
+
+import java.time.Instant;
+
+public record TokenClaims(Integer userId, String email, String role, int tokenVersion, Instant expiresAt) {
+}
@@ -0,0 +1,168 @@
+package org.example.session.security.token;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.response.TokenResDto;
+import org.example.session.security.user.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed tokens:
+ * {@code base64url(v1|type|userId|tokenVersion|expiresAt|role|email) "." base64url(signature)}.
+ * Verification is purely in memory, revocation goes through {@link TokenVersionRegistry}.
+ */
+@Slf4j
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FORMAT_VERSION = "v1";
+    private static final String ACCESS = "A";
+    private static final String REFRESH = "R";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TokenVersionRegistry versionRegistry;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    public TokenService(TokenVersionRegistry versionRegistry,
+                        @Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.access-ttl:15m}") Duration accessTtl,
+                        @Value("${app.security.token.refresh-ttl:14d}") Duration refreshTtl) {
+        this.versionRegistry = versionRegistry;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.clock = Clock.systemUTC();
+
+        SecretKeySpec key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    public TokenResDto issue(UserServiceImpl principal) {
+        Instant now = clock.instant();
+
+        TokenResDto res = new TokenResDto();
+        res.setTokenType("Bearer");
+        res.setAccessToken(sign(ACCESS, principal, now.plus(accessTtl)));
+        res.setExpiresIn(accessTtl.toSeconds());
+        res.setRefreshToken(sign(REFRESH, principal, now.plus(refreshTtl)));
+        res.setRefreshExpiresIn(refreshTtl.toSeconds());
+        return res;
+    }
+
+    public Optional<TokenClaims> parseAccessToken(String token) {
+        return parse(token, ACCESS);
+    }
+
+    public Optional<TokenClaims> parseRefreshToken(String token) {
+        return parse(token, REFRESH);
+    }
+
+    private String sign(String type, UserServiceImpl principal, Instant expiresAt) {
+        String payload = String.join("|",
+                FORMAT_VERSION,
+                type,
+                String.valueOf(principal.getId()),
+                String.valueOf(principal.getTokenVersion()),
+                String.valueOf(expiresAt.getEpochSecond()),
+                principal.getRole(),
+                principal.getEmail());
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac(payloadBytes));
+    }
+
+    private Optional<TokenClaims> parse(String token, String expectedType) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(mac(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 7);
+        if (parts.length != 7 || !FORMAT_VERSION.equals(parts[0]) || !expectedType.equals(parts[1])) {
+            return Optional.empty();
+        }
+
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(
+                    Integer.valueOf(parts[2]),
+                    parts[6],
+                    parts[5],
+                    Integer.parseInt(parts[3]),
+                    Instant.ofEpochSecond(Long.parseLong(parts[4])));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        if (!claims.expiresAt().isAfter(clock.instant())) {
+            return Optional.empty();
+        }
+        if (claims.tokenVersion() != versionRegistry.current(claims.userId())) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    private byte[] mac(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize token signer", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.token.secret is not set, using a random key: tokens will not survive a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must be at least 32 bytes");
+        }
+        return key;
+    }
+}
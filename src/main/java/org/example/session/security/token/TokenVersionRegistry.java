@@ -0,0 +1,74 @@
+package org.example.session.security.token;
+
+import jakarta.annotation.PostConstruct;
+import org.example.session.db.entity.User;
+import org.example.session.db.repositoty.UserRepo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of {@code users.token_version}. Only users whose version was ever bumped
+ * are kept, everyone else is implicitly at version 0.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final String INCREMENT =
+            "update users set token_version = token_version + 1 where id = ? returning token_version";
+
+    private final UserRepo userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UserRepo userRepository, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void reload() {
+        versions.clear();
+        for (Object[] row : userRepository.findRevokedTokenVersions()) {
+            versions.put((Integer) row[0], (Integer) row[1]);
+        }
+    }
+
+    public int current(Integer userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Bumps the stored version in SQL, so concurrent revocations each get their own version. The loaded
+     * entity is updated too, so flushing it later writes the same value back.
+     */
+    public void revokeAll(User user) {
+        Integer next = jdbcTemplate.queryForObject(INCREMENT, Integer.class, user.getId());
+        if (next == null) {
+            throw new IllegalStateException("User not found: " + user.getId());
+        }
+        user.setTokenVersion(next);
+        publish(user.getId(), next);
+    }
+
+    /**
+     * Makes {@code version}, already written to {@code users.token_version}, visible to token checks once the
+     * current transaction commits (immediately when there is none).
+     */
+    public void publish(Integer userId, int version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, version, Math::max);
+                }
+            });
+        } else {
+            versions.merge(userId, version, Math::max);
+        }
+    }
+}
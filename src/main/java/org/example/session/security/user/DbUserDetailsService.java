@@ -1,6 +1,8 @@
 package org.example.session.security.user;
 
 import org.example.session.db.repositoty.UserRepo;
+import org.example.session.security.hash.HashingCapacityExceededException;
+import org.example.session.security.hash.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,16 +13,57 @@ import org.springframework.stereotype.Service;
 public class DbUserDetailsService implements UserDetailsService {
 
     private final UserRepo userRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHashingExecutor passwordHasher;
 
     @Autowired
-    public DbUserDetailsService(UserRepo userRepository) {
+    public DbUserDetailsService(UserRepo userRepository, RoleRegistry roleRegistry,
+                                PasswordHashingExecutor passwordHasher) {
         this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHasher = passwordHasher;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var user = userRepository.findByEmail(email)
+        var user = userRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-        return new UserServiceImpl(user);
+
+        return new UserServiceImpl(
+                user.getId(),
+                user.getEmail(),
+                roleRegistry.nameOf(user.getRoleId()),
+                user.getStatus(),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion(),
+                user.getPasswordHash());
+    }
+
+    /**
+     * Rehashes the presented password with the current profile on the hashing pool. The upgrade is
+     * opportunistic: when the pool is saturated it is skipped and retried on a later login.
+     */
+    public UserDetails updatePassword(UserDetails user, CharSequence rawPassword) {
+        UserServiceImpl principal = (UserServiceImpl) user;
+
+        String newPassword;
+        try {
+            newPassword = passwordHasher.encode(rawPassword);
+        } catch (HashingCapacityExceededException e) {
+            return principal;
+        }
+
+        // conditional so a concurrent password change is never overwritten by a rehash
+        int updated = userRepository.replacePasswordHash(principal.getId(), principal.getPassword(), newPassword);
+        if (updated == 0) {
+            return principal;
+        }
+
+        return new UserServiceImpl(
+                principal.getId(),
+                principal.getEmail(),
+                principal.getRole(),
+                principal.getStatus(),
+                principal.getTokenVersion(),
+                newPassword);
     }
 }
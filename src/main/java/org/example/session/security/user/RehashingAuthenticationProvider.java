@@ -0,0 +1,32 @@
+package org.example.session.security.user;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link DaoAuthenticationProvider} that leaves the upgrade rehash to
+ * {@link DbUserDetailsService#updatePassword(UserDetails, CharSequence)} instead of encoding on the request thread.
+ */
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final DbUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+
+    public RehashingAuthenticationProvider(DbUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user = userDetailsService.updatePassword(user, authentication.getCredentials().toString());
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.session.security.user;
+
+import jakarta.annotation.PostConstruct;
+import org.example.session.db.entity.Role;
+import org.example.session.db.repositoty.RoleRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code roles} table is tiny and practically static, so it is held in memory
+ * as id/name maps instead of being joined or looked up per request.
+ * <p>
+ * A lookup that misses reloads the table once; if the key is still unknown it is remembered as missing
+ * for {@code negative-ttl}, so repeated unknown or garbage names do not reload on every call.
+ */
+@Component
+public class RoleRegistry {
+
+    private static final int MAX_MISSES = 1024;
+
+    private final RoleRepo roleRepository;
+    private final long negativeTtlNanos;
+
+    private final Map<Object, Long> misses = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Integer> idsByName = Map.of();
+    private volatile Map<Integer, String> namesById = Map.of();
+
+    public RoleRegistry(RoleRepo roleRepository,
+                        @Value("${app.security.roles.negative-ttl:30s}") Duration negativeTtl) {
+        this.roleRepository = roleRepository;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        Map<String, Integer> ids = new HashMap<>();
+        Map<Integer, String> names = new HashMap<>();
+
+        for (Role role : roleRepository.findAll()) {
+            ids.put(role.getName(), role.getId());
+            names.put(role.getId(), role.getName());
+        }
+
+        idsByName = Map.copyOf(ids);
+        namesById = Map.copyOf(names);
+        misses.clear();
+    }
+
+    public Optional<Integer> idOf(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+
+        Integer id = idsByName.get(name);
+        if (id == null && !recentlyMissed(name)) {
+            reload();
+            id = idsByName.get(name);
+            if (id == null) {
+                rememberMiss(name);
+            }
+        }
+        return Optional.ofNullable(id);
+    }
+
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        String name = namesById.get(id);
+        if (name == null && !recentlyMissed(id)) {
+            reload();
+            name = namesById.get(id);
+            if (name == null) {
+                rememberMiss(id);
+            }
+        }
+        return name;
+    }
+
+    private boolean recentlyMissed(Object key) {
+        Long at = misses.get(key);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at > negativeTtlNanos) {
+            misses.remove(key, at);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberMiss(Object key) {
+        if (misses.size() >= MAX_MISSES) {
+            misses.clear();
+        }
+        misses.put(key, System.nanoTime());
+    }
+}
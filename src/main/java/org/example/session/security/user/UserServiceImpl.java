@@ -1,38 +1,70 @@
 package org.example.session.security.user;
 
-import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import org.example.session.db.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@RequiredArgsConstructor
-@Data
-public class UserServiceImpl implements UserService{
-    private final User user;
+@Value
+@AllArgsConstructor
+public class UserServiceImpl implements UserService {
+
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    Integer id;
+    String email;
+    String role;
+    String status;
+    int tokenVersion;
+
+    @ToString.Exclude
+    String passwordHash;
+
+    public UserServiceImpl(User user, String role) {
+        this(user.getId(),
+                user.getEmail(),
+                role,
+                user.getStatus(),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion(),
+                user.getPasswordHash());
+    }
+
+    public UserServiceImpl(User user) {
+        this(user, user.getRole() == null ? null : user.getRole().getName());
+    }
+
+    public UserServiceImpl withoutPassword() {
+        return passwordHash == null ? this : new UserServiceImpl(id, email, role, status, tokenVersion, null);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return java.util.List.of(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().getName())
-        );
+        if (role == null) {
+            return List.of();
+        }
+        return AUTHORITIES.computeIfAbsent(role, r -> List.of(new SimpleGrantedAuthority("ROLE_" + r)));
     }
 
-    @Override public String getPassword() { return user.getPasswordHash(); }
-    @Override public String getUsername() { return user.getEmail(); }
+    @Override public String getPassword() { return passwordHash; }
+    @Override public String getUsername() { return email; }
 
     @Override public boolean isAccountNonExpired() { return true; }
     @Override public boolean isCredentialsNonExpired() { return true; }
 
     @Override
     public boolean isAccountNonLocked() {
-        return !"BLOCKED".equalsIgnoreCase(user.getStatus());
+        return !"BLOCKED".equalsIgnoreCase(status);
     }
 
     @Override
     public boolean isEnabled() {
-        return !"BLOCKED".equalsIgnoreCase(user.getStatus());
+        return !"BLOCKED".equalsIgnoreCase(status);
     }
 }
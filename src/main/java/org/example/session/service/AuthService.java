@@ -2,81 +2,194 @@ package org.example.session.service;
 
 import jakarta.transaction.Transactional;
 import org.example.session.data.dtos.request.auth.ChangePassDto;
+import org.example.session.data.dtos.request.auth.RefreshTokenDto;
 import org.example.session.data.dtos.request.auth.RegisterDto;
 import org.example.session.data.dtos.request.auth.UpdateProfileDto;
+import org.example.session.data.dtos.response.TokenResDto;
 import org.example.session.data.dtos.response.UserResDto;
 import org.example.session.data.mappers.UserMapper;
-import org.example.session.db.entity.Role;
 import org.example.session.db.entity.User;
 import org.example.session.db.repositoty.RoleRepo;
 import org.example.session.db.repositoty.UserRepo;
+import org.example.session.security.cache.VerifiedCredentialCache;
+import org.example.session.security.hash.PasswordChangedConcurrentlyException;
+import org.example.session.security.hash.PasswordHashingExecutor;
+import org.example.session.security.token.TokenClaims;
+import org.example.session.security.token.TokenService;
+import org.example.session.security.token.TokenVersionRegistry;
+import org.example.session.security.user.RoleRegistry;
 import org.example.session.security.user.UserServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class AuthService {
 
+    private static final String REPLACE_PASSWORD_HASH = """
+            update users
+            set password_hash = ?, token_version = token_version + 1, updated_at = ?
+            where id = ? and password_hash = ?
+            returning email, token_version
+            """;
+
     private final UserRepo userRepository;
     private final RoleRepo roleRepository;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingExecutor passwordHasher;
+    private final TransactionTemplate transactionTemplate;
     private final UserMapper userMapper;
+    private final VerifiedCredentialCache credentialCache;
+    private final TokenService tokenService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RoleRegistry roleRegistry;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public AuthService(UserRepo userRepository, RoleRepo roleRepository, PasswordEncoder encoder, UserMapper userMapper) {
+    public AuthService(UserRepo userRepository, RoleRepo roleRepository, PasswordHashingExecutor passwordHasher,
+                       TransactionTemplate transactionTemplate, UserMapper userMapper,
+                       VerifiedCredentialCache credentialCache, TokenService tokenService,
+                       TokenVersionRegistry tokenVersionRegistry, RoleRegistry roleRegistry,
+                       JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
-        this.encoder = encoder;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
         this.userMapper = userMapper;
+        this.credentialCache = credentialCache;
+        this.tokenService = tokenService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.roleRegistry = roleRegistry;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
-    @Transactional
     public UserResDto register(RegisterDto req, String roleName) {
         if (userRepository.existsByEmail(req.getEmail())) {
             throw new IllegalArgumentException("Email already in use");
         }
 
-        Role role = roleRepository.findByName(roleName)
+        Integer roleId = roleRegistry.idOf(roleName)
                 .orElseThrow(() -> new IllegalStateException("Role not found in DB"));
 
-        User user = userMapper.toEntity(req);
-        user.setPasswordHash(encoder.encode(req.getPassword()));
+        // hashed before the transaction starts so a queued hash never pins a DB connection
+        String passwordHash = passwordHasher.encode(req.getPassword());
 
-        user.setStatus("ACTIVE");
-        user.setRole(role);
-        user.setCreatedAt(Instant.now());
-        user.setUpdatedAt(Instant.now());
+        return transactionTemplate.execute(status -> {
+            User user = userMapper.toEntity(req);
+            user.setPasswordHash(passwordHash);
 
-        User saved = userRepository.save(user);
-        return userMapper.toResponse(saved);
+            user.setStatus("ACTIVE");
+            user.setRole(roleRepository.getReferenceById(roleId));
+            user.setCreatedAt(Instant.now());
+            user.setUpdatedAt(Instant.now());
+
+            User saved = userRepository.save(user);
+            return userMapper.toResponse(saved, roleName);
+        });
+    }
+
+    public TokenResDto issueTokens(UserServiceImpl principal) {
+        return tokenService.issue(principal);
+    }
+
+    @Transactional
+    public TokenResDto refresh(RefreshTokenDto req) {
+        TokenClaims claims = tokenService.parseRefreshToken(req.getRefreshToken())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        User user = userRepository.findById(claims.userId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if ("BLOCKED".equalsIgnoreCase(user.getStatus())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        return tokenService.issue(new UserServiceImpl(user, roleNameOf(user)));
     }
 
     @Transactional()
     public UserResDto me(UserServiceImpl principal) {
-        return userMapper.toResponse(principal.getUser());
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new IllegalStateException("User not found"));
+        return userMapper.toResponse(user, roleNameOf(user));
     }
 
     @Transactional
     public UserResDto updateProfile(UserServiceImpl principal, UpdateProfileDto req) {
-        User user = userRepository.findById(principal.getUser().getId())
+        User user = userRepository.findById(principal.getId())
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
         user.setFullName(req.getFullName());
-        return userMapper.toResponse(user);
+        return userMapper.toResponse(user, roleNameOf(user));
     }
 
-    @Transactional
     public void changePassword(UserServiceImpl principal, ChangePassDto req) {
-        User user = userRepository.findById(principal.getUser().getId())
+        String currentHash = userRepository.findById(principal.getId())
+                .map(User::getPasswordHash)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
-        if (!encoder.matches(req.getOldPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(req.getOldPassword(), currentHash)) {
             throw new IllegalArgumentException("Old password is incorrect");
         }
 
-        user.setPasswordHash(encoder.encode(req.getNewPassword()));
+        String newHash = passwordHasher.encode(req.getNewPassword());
+
+        // the hash compare and the write are one statement, so of two concurrent changes only one can win
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> changed = jdbcTemplate.queryForList(REPLACE_PASSWORD_HASH,
+                    newHash, Timestamp.from(Instant.now()), principal.getId(), currentHash);
+            if (changed.isEmpty()) {
+                throw new PasswordChangedConcurrentlyException();
+            }
+
+            Map<String, Object> row = changed.get(0);
+            tokenVersionRegistry.publish(principal.getId(), ((Number) row.get("token_version")).intValue());
+            credentialCache.invalidate((String) row.get("email"));
+        });
+    }
+
+    @Transactional
+    public UserResDto updateStatusByAdmin(Integer userId, String status) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        String st = status == null ? user.getStatus() : status.toUpperCase();
+        if (!st.equals("ACTIVE") && !st.equals("BLOCKED")) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+
+        if (st.equals("BLOCKED") && !st.equals(user.getStatus())) {
+            tokenVersionRegistry.revokeAll(user);
+        }
+
+        user.setStatus(st);
+        user.setUpdatedAt(Instant.now());
+        credentialCache.invalidate(user.getEmail());
+        return userMapper.toResponse(user, roleNameOf(user));
+    }
+
+    @Transactional
+    public UserResDto updateRoleByAdmin(Integer userId, String roleName) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        String name = roleName == null ? null : roleName.toUpperCase();
+        Integer roleId = roleRegistry.idOf(name)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
+
+        user.setRole(roleRepository.getReferenceById(roleId));
+        user.setUpdatedAt(Instant.now());
+        tokenVersionRegistry.revokeAll(user);
+        credentialCache.invalidate(user.getEmail());
+        return userMapper.toResponse(user, name);
+    }
+
+    private String roleNameOf(User user) {
+        return user.getRole() == null ? null : roleRegistry.nameOf(user.getRole().getId());
     }
 }
@@ -1,17 +1,27 @@
 package org.example.session.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.session.data.dtos.request.cart.CartBatchDto;
 import org.example.session.data.dtos.request.cart.CartItemDto;
 import org.example.session.db.entity.*;
 import org.example.session.db.repositoty.CartItemRepo;
 import org.example.session.db.repositoty.CartRepo;
 import org.example.session.db.repositoty.ProductRepo;
 import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.cart.CartBatch;
+import org.example.session.service.cart.CartItemWriter;
+import org.example.session.service.version.ResourceVersion;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CartService {
@@ -19,104 +29,110 @@ public class CartService {
     private final CartRepo cartRepository;
     private final CartItemRepo cartItemRepository;
     private final ProductRepo productRepository;
+    private final CartItemWriter cartItemWriter;
+    private final EntityManager entityManager;
 
     public CartService(CartRepo cartRepository,
                        CartItemRepo cartItemRepository,
-                       ProductRepo productRepository) {
+                       ProductRepo productRepository,
+                       CartItemWriter cartItemWriter,
+                       EntityManager entityManager) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
+        this.cartItemWriter = cartItemWriter;
+        this.entityManager = entityManager;
     }
 
     @Transactional
     public Cart getOrCreateMyCart(UserServiceImpl principal) {
-        return cartRepository.findByBuyer_Id(principal.getUser().getId())
-                .orElseGet(() -> {
-                    Cart c = new Cart();
-                    c.setBuyer(principal.getUser());
-                    Instant now = Instant.now();
-                    c.setCreatedAt(now);
-                    c.setUpdatedAt(now);
-                    return cartRepository.save(c);
-                });
+        return cartRepository.findByBuyer_Id(principal.getId())
+                .orElseGet(() -> loadCart(cartItemWriter.ensureCart(principal.getId())));
+    }
+
+    /**
+     * @return validators for the buyer's cart, or {@code null} when the cart does not exist yet
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion version(UserServiceImpl principal) {
+        return cartRepository.findVersionByBuyer_Id(principal.getId())
+                .map(updatedAt -> ResourceVersion.of("cart", principal.getId(), updatedAt))
+                .orElse(null);
     }
 
     @Transactional()
     public Cart getMyCart(UserServiceImpl principal) {
-        return cartRepository.findByBuyer_Id(principal.getUser().getId())
-                .orElseGet(() -> {
-                    Cart c = new Cart();
-                    c.setBuyer(principal.getUser());
-                    c.setCreatedAt(Instant.now());
-                    c.setUpdatedAt(Instant.now());
-                    return cartRepository.save(c);
-                });
+        return getOrCreateMyCart(principal);
     }
 
+    /**
+     * Adds to the line for the product in one statement; the cart is created on the first add.
+     */
     @Transactional
     public Cart addItem(UserServiceImpl principal, CartItemDto dto) {
-        Cart cart = getOrCreateMyCart(principal);
-
-        Product product = productRepository.findById(dto.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + dto.getProductId()));
-
-        if ("ARCHIVED".equalsIgnoreCase(product.getStatus())) {
-            throw new IllegalArgumentException("Product is archived");
-        }
-
         int addQty = dto.getQuantity() == null ? 1 : dto.getQuantity();
         if (addQty <= 0) addQty = 1;
 
-        CartItem item = cartItemRepository.findByCart_IdAndProduct_Id(cart.getId(), product.getId())
-                .orElseGet(() -> {
-                    CartItem ci = new CartItem();
-                    ci.setCart(cart);
-                    ci.setProduct(product);
-                    ci.setQuantity(0);
-                    ci.setPriceSnapshot(product.getPrice() == null ? 0 : product.getPrice());
-                    Instant now = Instant.now();
-                    ci.setCreatedAt(now);
-                    return ci;
-                });
-
-        item.setQuantity(item.getQuantity() + addQty);
-
-        cartItemRepository.save(item);
-
-        cart.getItems().add(item);
-
-        cartRepository.save(cart);
-        cart.setUpdatedAt(Instant.now());
-        return cart;
+        entityManager.flush();
+        Integer cartId = cartItemWriter.add(principal.getId(), dto.getProductId(), addQty);
+        if (cartId == null) {
+            throw new IllegalArgumentException(productRepository.existsById(dto.getProductId())
+                    ? "Product is archived"
+                    : "Product not found: " + dto.getProductId());
+        }
+        return loadCart(cartId);
     }
 
     @Transactional
     public Cart setQuantity(UserServiceImpl principal, CartItemDto dto) {
-        Cart cart = getOrCreateMyCart(principal);
-
         int qty = dto.getQuantity() == null ? 1 : dto.getQuantity();
 
         if (qty <= 0) {
-            cartItemRepository.deleteByCart_IdAndProduct_Id(cart.getId(), dto.getProductId());
-            cart.setUpdatedAt(Instant.now());
-            return cart;
+            return removeItem(principal, dto.getProductId());
         }
 
-        CartItem item = cartItemRepository.findByCart_IdAndProduct_Id(cart.getId(), dto.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Cart item not found"));
-
-        item.setQuantity(qty);
-
-        cart.setUpdatedAt(Instant.now());
-        return cart;
+        entityManager.flush();
+        Integer cartId = cartItemWriter.setQuantity(principal.getId(), dto.getProductId(), qty);
+        if (cartId == null) {
+            throw new IllegalArgumentException("Cart item not found");
+        }
+        return loadCart(cartId);
     }
 
     @Transactional
     public Cart removeItem(UserServiceImpl principal, Integer productId) {
-        Cart cart = getOrCreateMyCart(principal);
-        cartItemRepository.deleteByCart_IdAndProduct_Id(cart.getId(), productId);
-        cart.setUpdatedAt(Instant.now());
-        return cart;
+        entityManager.flush();
+        return loadCart(cartItemWriter.remove(principal.getId(), productId));
+    }
+
+    /**
+     * Applies a client's list of cart edits in one transaction: the operations are folded into one change
+     * per product and written with a statement per kind of change, however many there are. Any invalid
+     * operation, a set on a product not in the cart, or an add of a missing or archived product rejects
+     * the whole batch.
+     */
+    @Transactional
+    public Cart applyBatch(UserServiceImpl principal, CartBatchDto dto) {
+        CartBatch batch = CartBatch.of(dto == null ? null : dto.getOps());
+
+        entityManager.flush();
+        Integer cartId = cartItemWriter.touchCart(principal.getId());
+
+        List<Integer> mustExist = batch.mustExist();
+        rejectMissing(mustExist, cartItemWriter.existing(cartId, mustExist), "Cart items not found: ");
+
+        cartItemWriter.removeAll(cartId, batch.removed());
+
+        Map<Integer, Integer> added = batch.added();
+        Map<Integer, Integer> set = batch.set();
+        List<Integer> written = new ArrayList<>(cartItemWriter.addAll(cartId, added));
+        written.addAll(cartItemWriter.setAll(cartId, set));
+
+        List<Integer> upserted = new ArrayList<>(added.keySet());
+        upserted.addAll(set.keySet());
+        rejectMissing(upserted, written, "Products not found or archived: ");
+
+        return loadCart(cartId);
     }
 
     @Transactional
@@ -130,4 +146,27 @@ public class CartService {
         cartRepository.save(cart);
         return cart;
     }
+
+    private static void rejectMissing(List<Integer> expected, List<Integer> found, String message) {
+        if (found.size() == expected.size()) {
+            return;
+        }
+        Set<Integer> foundSet = new HashSet<>(found);
+        List<Integer> missing = expected.stream().filter(id -> !foundSet.contains(id)).toList();
+        throw new IllegalArgumentException(message + missing);
+    }
+
+    /**
+     * The cart as written by {@link CartItemWriter}. A copy already in the persistence context is
+     * stale after those statements, so it is evicted (with its items) before reading.
+     */
+    private Cart loadCart(Integer cartId) {
+        Cart cached = entityManager.getReference(Cart.class, cartId);
+        if (!Hibernate.isInitialized(cached)) {
+            Hibernate.initialize(cached);
+            return cached;
+        }
+        entityManager.detach(cached);
+        return entityManager.find(Cart.class, cartId);
+    }
 }
@@ -2,9 +2,17 @@ package org.example.session.service;
 
 import jakarta.transaction.Transactional;
 import org.example.session.data.dtos.request.CategoryDto;
+import org.example.session.data.dtos.response.CategoryCountsReconcileResDto;
 import org.example.session.db.entity.Category;
 import org.example.session.db.repositoty.CategoryRepo;
+import org.example.session.service.category.CategoryProductCountService;
+import org.example.session.service.category.CategoryProductCounts;
+import org.example.session.service.category.CategoryTree;
+import org.example.session.service.category.CategoryTreeService;
+import org.example.session.service.event.CategoryChangedEvent;
+import org.example.session.service.version.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -14,10 +22,18 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepo categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final CategoryProductCountService productCountService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryService(CategoryRepo categoryRepository) {
+    public CategoryService(CategoryRepo categoryRepository, CategoryTreeService categoryTreeService,
+                           CategoryProductCountService productCountService,
+                           ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.categoryTreeService = categoryTreeService;
+        this.productCountService = productCountService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -46,7 +62,34 @@ public class CategoryService {
         c.setParent(parent);
         c.setCreatedAt(Instant.now());
 
-        return categoryRepository.save(c);
+        Category saved = categoryRepository.save(c);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * The in-memory category forest that public category reads are served from.
+     */
+    public CategoryTree tree() {
+        return categoryTreeService.current();
+    }
+
+    /**
+     * ACTIVE product counts per category, descendants included, as last read from the counters table.
+     */
+    public CategoryProductCounts productCounts() {
+        return productCountService.current();
+    }
+
+    public CategoryCountsReconcileResDto reconcileProductCounts() {
+        return productCountService.reconcile();
+    }
+
+    /**
+     * Version of the categories table itself, see {@link CategoryTree#versionOf}.
+     */
+    public ResourceVersion version() {
+        return categoryTreeService.storedVersion();
     }
 
     @Transactional
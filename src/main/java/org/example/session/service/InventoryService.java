@@ -7,6 +7,7 @@ import org.example.session.db.entity.Product;
 import org.example.session.db.repositoty.InventoryRepo;
 import org.example.session.db.repositoty.ProductRepo;
 import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.version.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -32,9 +33,15 @@ public class InventoryService {
                 .orElseThrow(() -> new IllegalArgumentException("Inventory not found for product: " + productId));
     }
 
+    public ResourceVersion version(Integer productId) {
+        Instant updatedAt = inventoryRepository.findUpdatedAtByProduct_Id(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Inventory not found for product: " + productId));
+        return ResourceVersion.of("inventory", productId, updatedAt);
+    }
+
     @Transactional
     public Inventory setQuantityBySeller(UserServiceImpl principal, Integer productId, InventoryDto dto) throws AccessDeniedException {
-        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getUser().getId())
+        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getId())
                 .orElseThrow(() -> new AccessDeniedException("No access to product or not found"));
 
         return upsert(product, dto);
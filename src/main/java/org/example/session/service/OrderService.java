@@ -5,7 +5,10 @@ import org.example.session.db.entity.*;
 import org.example.session.db.repositoty.CartItemRepo;
 import org.example.session.db.repositoty.CartRepo;
 import org.example.session.db.repositoty.OrderRepo;
+import org.example.session.db.repositoty.UserRepo;
 import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.RowCountEstimator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.security.access.AccessDeniedException;
@@ -20,17 +23,22 @@ public class OrderService {
     private final OrderRepo orderRepository;
     private final CartRepo cartRepository;
     private final CartItemRepo cartItemRepo;
+    private final UserRepo userRepository;
+    private final RowCountEstimator rowCountEstimator;
 
     @Autowired
-    public OrderService(OrderRepo orderRepository, CartRepo cartRepository, CartItemRepo cartItemRepo) {
+    public OrderService(OrderRepo orderRepository, CartRepo cartRepository, CartItemRepo cartItemRepo,
+                        UserRepo userRepository, RowCountEstimator rowCountEstimator) {
         this.orderRepository = orderRepository;
         this.cartRepository = cartRepository;
         this.cartItemRepo = cartItemRepo;
+        this.userRepository = userRepository;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     @Transactional
     public Order checkout(UserServiceImpl principal) {
-        Cart cart = cartRepository.findByBuyer_Id(principal.getUser().getId())
+        Cart cart = cartRepository.findByBuyer_Id(principal.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Cart is empty"));
 
         if (cart.getItems() == null || cart.getItems().isEmpty()) {
@@ -40,7 +48,7 @@ public class OrderService {
         Instant now = Instant.now();
 
         Order order = new Order();
-        order.setBuyer(principal.getUser());
+        order.setBuyer(userRepository.getReferenceById(principal.getId()));
         order.setStatus("CREATED");
         order.setCreatedAt(now);
         order.setUpdatedAt(now);
@@ -78,7 +86,19 @@ public class OrderService {
     @Transactional
     public Page<Order> myOrders(UserServiceImpl principal, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return orderRepository.findAllByBuyer_Id(principal.getUser().getId(), pageable);
+        return orderRepository.findAllByBuyer_Id(principal.getId(), pageable);
+    }
+
+    @Transactional
+    public Slice<Order> myOrders(UserServiceImpl principal, int page, int size, CountMode countMode) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return switch (countMode) {
+            case EXACT -> orderRepository.findAllByBuyer_Id(principal.getId(), pageable);
+            case NONE -> orderRepository.findSliceByBuyer_Id(principal.getId(), pageable);
+            case ESTIMATE -> rowCountEstimator.withEstimatedTotal(
+                    orderRepository.findSliceByBuyer_Id(principal.getId(), pageable),
+                    "select 1 from orders where buyer_id = ?", principal.getId());
+        };
     }
 
     @Transactional
@@ -86,7 +106,7 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
-        if (!order.getBuyer().getId().equals(principal.getUser().getId())) {
+        if (!order.getBuyer().getId().equals(principal.getId())) {
             throw new AccessDeniedException("Not your order");
         }
         return order;
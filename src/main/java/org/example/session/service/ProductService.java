@@ -1,43 +1,98 @@
 package org.example.session.service;
 
 import jakarta.transaction.Transactional;
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
 import org.example.session.data.dtos.request.product.ProductDto;
 import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.CatalogBrowseResDto;
+import org.example.session.data.dtos.response.product.ProductBulkUpdateResDto;
+import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.db.entity.Category;
 import org.example.session.db.entity.Inventory;
 import org.example.session.db.entity.Product;
 import org.example.session.db.entity.User;
+import org.example.session.db.projection.ProductSearchRow;
 import org.example.session.db.repositoty.CategoryRepo;
 import org.example.session.db.repositoty.InventoryRepo;
+import org.example.session.db.repositoty.ProductListingRepo;
 import org.example.session.db.repositoty.ProductRepo;
+import org.example.session.db.repositoty.UserRepo;
 import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.cache.ProductDetailsCache;
+import org.example.session.service.catalog.CatalogFilter;
+import org.example.session.service.catalog.CatalogQueries;
+import org.example.session.service.catalog.CatalogSort;
+import org.example.session.service.catalog.ProductBulkUpdater;
+import org.example.session.service.event.ProductChangedEvent;
+import org.example.session.service.event.ProductsChangedEvent;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.CursorPage;
+import org.example.session.service.paging.KeysetCursor;
+import org.example.session.service.paging.RowCountEstimator;
+import org.example.session.service.paging.SearchCursor;
+import org.example.session.service.snapshot.CatalogSnapshot;
+import org.example.session.service.snapshot.CatalogSnapshotService;
+import org.example.session.service.version.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BULK_ITEMS = 1000;
+
     private final ProductRepo productRepository;
+    private final ProductListingRepo productListingRepository;
     private final InventoryRepo inventoryRepository;
     private final CategoryRepo categoryRepository;
+    private final UserRepo userRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogQueries catalogQueries;
+    private final ProductDetailsCache productDetailsCache;
+    private final ProductBulkUpdater productBulkUpdater;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Autowired
-    public ProductService(ProductRepo productRepository, CategoryRepo categoryRepository, InventoryRepo inventoryRepository) {
+    public ProductService(ProductRepo productRepository, ProductListingRepo productListingRepository,
+                          CategoryRepo categoryRepository, InventoryRepo inventoryRepository,
+                          UserRepo userRepository, RowCountEstimator rowCountEstimator,
+                          ApplicationEventPublisher eventPublisher, CatalogQueries catalogQueries,
+                          ProductDetailsCache productDetailsCache, ProductBulkUpdater productBulkUpdater,
+                          CatalogSnapshotService catalogSnapshotService) {
         this.productRepository = productRepository;
+        this.productListingRepository = productListingRepository;
         this.categoryRepository = categoryRepository;
         this.inventoryRepository = inventoryRepository;
+        this.userRepository = userRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
+        this.catalogQueries = catalogQueries;
+        this.productDetailsCache = productDetailsCache;
+        this.productBulkUpdater = productBulkUpdater;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
     @Transactional
     public Product create(UserServiceImpl principal, ProductDto dto) {
-        User seller = principal.getUser();
+        User seller = userRepository.getReferenceById(principal.getId());
 
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new IllegalArgumentException("Category not found: " + dto.getCategoryId()));
@@ -64,6 +119,7 @@ public class ProductService {
         inv.setUpdatedAt(Instant.now());
         inventoryRepository.save(inv);
 
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
         return savedProduct;
     }
 
@@ -73,21 +129,182 @@ public class ProductService {
                 .orElseThrow(() -> new IllegalArgumentException("Product not found: " + id));
     }
 
+    /**
+     * Served from {@link ProductDetailsCache}; a miss loads the DTO with a single projection query.
+     * Not transactional so cache hits never touch the connection pool.
+     */
+    public ProductResDto getDetails(Integer id) {
+        return productDetailsCache.get(id, key -> productRepository.findResDtoById(key)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + key)));
+    }
+
+    /**
+     * Validators for {@link #getDetails}: taken from the cached DTO when present, otherwise read
+     * with a single-column lookup.
+     */
+    public ResourceVersion version(Integer id) {
+        ProductResDto cached = productDetailsCache.getIfPresent(id);
+        Instant updatedAt = cached != null
+                ? cached.getUpdatedAt()
+                : productRepository.findUpdatedAtById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("Product not found: " + id));
+        return ResourceVersion.of("product", id, updatedAt);
+    }
+
     @Transactional()
     public Page<Product> listPublic(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         return productRepository.findAllByStatus("ACTIVE", pageable);
     }
 
+    /**
+     * Served from the in-memory catalog snapshot when it is available. Otherwise rows come from
+     * {@code product_listing}, one statement per page (plus COUNT for exact totals).
+     */
+    public Slice<ProductResDto> listPublic(int page, int size, CountMode countMode) {
+        return listPublic(new CatalogFilter(null, null, null, false, CatalogSort.NEWEST), page, size, countMode);
+    }
+
+    /**
+     * Newest-first ACTIVE products narrowed by category subtree and price range. Stock and sort are not
+     * applied here, see {@link #browse}. The count mode shapes the result the same way whether the page
+     * comes from the snapshot or from SQL.
+     */
+    public Slice<ProductResDto> listPublic(CatalogFilter filter, int page, int size, CountMode countMode) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        boolean filtered = filter.categoryId() != null || filter.minPrice() != null || filter.maxPrice() != null;
+
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            CatalogSnapshot.Window window = snapshot.window(filter, pageable.getOffset(), size,
+                    countMode != CountMode.NONE);
+            return countMode == CountMode.NONE
+                    ? new SliceImpl<>(window.items(), pageable, window.hasNext())
+                    : new PageImpl<>(window.items(), pageable, window.total());
+        }
+
+        if (filtered) {
+            List<ProductResDto> rows = catalogQueries.products(filter, pageable.getOffset(), size + 1);
+            boolean hasNext = rows.size() > size;
+            Slice<ProductResDto> slice = new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+            return switch (countMode) {
+                case NONE -> slice;
+                case EXACT -> new PageImpl<>(slice.getContent(), pageable, catalogQueries.count(filter));
+                case ESTIMATE -> rowCountEstimator.withEstimatedTotal(slice, catalogQueries.estimate(filter));
+            };
+        }
+
+        return switch (countMode) {
+            case EXACT -> productListingRepository.findResDtoPageByStatus("ACTIVE", pageable);
+            case NONE -> productListingRepository.findResDtoSliceByStatus("ACTIVE", pageable);
+            case ESTIMATE -> rowCountEstimator.withEstimatedTotal(
+                    productListingRepository.findResDtoSliceByStatus("ACTIVE", pageable),
+                    "select 1 from product_listing where status = ?", "ACTIVE");
+        };
+    }
+
+    /**
+     * Seeks on (created_at, id) instead of OFFSET, so every page costs the same and no COUNT runs.
+     * The snapshot answers with a binary search when it is available.
+     */
+    public CursorPage<ProductResDto> listPublicAfter(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        List<ProductResDto> rows;
+        if (snapshot != null) {
+            rows = after == null
+                    ? snapshot.after(null, null, limit + 1)
+                    : snapshot.after(after.createdAt(), after.id(), limit + 1);
+        } else {
+            rows = after == null
+                    ? productListingRepository.findKeysetFirst("ACTIVE", window)
+                    : productListingRepository.findKeysetAfter("ACTIVE", after.createdAt(), after.id(), window);
+        }
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<ProductResDto> items = rows.subList(0, limit);
+        ProductResDto last = items.get(limit - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId().intValue()).encode());
+    }
+
+    /**
+     * Ranked full-text search over ACTIVE products, optionally within one category.
+     */
+    @Transactional()
+    public CursorPage<ProductSearchRow> search(String query, Integer categoryId, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        SearchCursor after = SearchCursor.decode(cursor);
+
+        List<ProductSearchRow> rows = productRepository.search(query.trim(), "ACTIVE", categoryId,
+                after == null ? null : after.rank(),
+                after == null ? null : after.id(),
+                limit + 1);
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<ProductSearchRow> items = rows.subList(0, limit);
+        ProductSearchRow last = items.get(limit - 1);
+        return new CursorPage<>(items, new SearchCursor(last.getRank(), last.getId()).encode());
+    }
+
+    /**
+     * One page of ACTIVE products for the filter plus price and child-category facets. The page
+     * reads one extra row to tell whether another page exists, so no COUNT over the result runs.
+     */
+    @Transactional()
+    public CatalogBrowseResDto browse(CatalogFilter filter, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        List<ProductResDto> rows = catalogQueries.products(filter, (long) page * limit, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<ProductResDto> items = hasNext ? rows.subList(0, limit) : rows;
+
+        CatalogBrowseResDto res = new CatalogBrowseResDto();
+        res.setItems(items);
+        res.setPage(page);
+        res.setSize(limit);
+        res.setHasNext(hasNext);
+        res.setPriceBuckets(catalogQueries.priceBuckets(filter));
+        res.setCategories(catalogQueries.childCategories(filter));
+        return res;
+    }
+
     @Transactional()
     public Page<Product> listSellerProducts(UserServiceImpl principal, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return productRepository.findAllBySeller_Id(principal.getUser().getId(), pageable);
+        return productRepository.findAllBySeller_Id(principal.getId(), pageable);
+    }
+
+    @Transactional()
+    public Slice<ProductResDto> listSellerProducts(UserServiceImpl principal, int page, int size, CountMode countMode) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return switch (countMode) {
+            case EXACT -> productListingRepository.findResDtoPageBySeller(principal.getId(), pageable);
+            case NONE -> productListingRepository.findResDtoSliceBySeller(principal.getId(), pageable);
+            case ESTIMATE -> rowCountEstimator.withEstimatedTotal(
+                    productListingRepository.findResDtoSliceBySeller(principal.getId(), pageable),
+                    "select 1 from product_listing where seller_id = ?", principal.getId());
+        };
     }
 
     @Transactional
     public Product updateBySeller(UserServiceImpl principal, Integer productId, ProductUpdateDto dto) throws AccessDeniedException {
-        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getUser().getId())
+        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getId())
                 .orElseThrow(() -> new AccessDeniedException("No access to product or not found"));
 
         Category category = categoryRepository.findById(dto.getCategoryId())
@@ -95,6 +312,8 @@ public class ProductService {
 
         applyUpdate(product, category, dto);
         product.setUpdatedAt(Instant.now());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
         return product;
     }
 
@@ -108,16 +327,66 @@ public class ProductService {
 
         applyUpdate(product, category, dto);
         product.setUpdatedAt(Instant.now());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
         return product;
     }
 
+    @Transactional
+    public ProductBulkUpdateResDto bulkUpdateBySeller(UserServiceImpl principal, ProductBulkUpdateDto dto) {
+        return bulkUpdate(principal.getId(), dto);
+    }
+
+    @Transactional
+    public ProductBulkUpdateResDto bulkUpdateByAdmin(ProductBulkUpdateDto dto) {
+        return bulkUpdate(null, dto);
+    }
+
+    /**
+     * One UPDATE for the whole request. When an id appears more than once the last entry wins.
+     */
+    private ProductBulkUpdateResDto bulkUpdate(Integer sellerId, ProductBulkUpdateDto dto) {
+        List<ProductBulkUpdateDto.Item> items = dto == null ? null : dto.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("No product changes given");
+        }
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ITEMS + " products per request");
+        }
+
+        Map<Integer, ProductBulkUpdateDto.Item> byId = new LinkedHashMap<>();
+        for (ProductBulkUpdateDto.Item item : items) {
+            if (item.getId() == null) {
+                throw new IllegalArgumentException("Product id is required");
+            }
+            if (item.getPrice() == null && item.getStatus() == null && item.getCategoryId() == null) {
+                throw new IllegalArgumentException("No changes for product " + item.getId());
+            }
+            byId.put(item.getId(), item);
+        }
+
+        List<Integer> updated = productBulkUpdater.apply(sellerId, byId.values());
+
+        Set<Integer> updatedSet = new HashSet<>(updated);
+        List<Integer> rejected = byId.keySet().stream()
+                .filter(id -> !updatedSet.contains(id))
+                .toList();
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(updated));
+        }
+        return new ProductBulkUpdateResDto(byId.size(), updated.size(), rejected);
+    }
+
     @Transactional
     public void archiveBySeller(UserServiceImpl principal, Integer productId) throws AccessDeniedException {
-        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getUser().getId())
+        Product product = productRepository.findByIdAndSeller_Id(productId, principal.getId())
                 .orElseThrow(() -> new AccessDeniedException("No access to product or not found"));
 
         product.setStatus("ARCHIVED");
         product.setUpdatedAt(Instant.now());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
     }
 
     @Transactional
@@ -127,6 +396,8 @@ public class ProductService {
 
         product.setStatus("ARCHIVED");
         product.setUpdatedAt(Instant.now());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
     }
 
     private void applyUpdate(Product product, Category category, ProductUpdateDto dto) {
@@ -0,0 +1,75 @@
+package org.example.session.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.service.event.ProductChangedEvent;
+import org.example.session.service.event.ProductsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of product details by id. Caffeine's TinyLFU admission keeps hot products
+ * resident and stops one-off lookups from evicting them.
+ * <p>
+ * Entries are dropped after every product write commits. Loads run inside the cache's per-key
+ * compute, so a load that read the old row finishes before the invalidation removes it.
+ * Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+public class ProductDetailsCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<Integer, ProductResDto> cache;
+
+    public ProductDetailsCache(@Value("${app.catalog.product-cache.enabled:true}") boolean enabled,
+                               @Value("${app.catalog.product-cache.max-size:50000}") long maxSize,
+                               @Value("${app.catalog.product-cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public ProductResDto get(Integer id, Function<Integer, ProductResDto> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return cache.get(id, loader);
+    }
+
+    /**
+     * @return the cached entry, or {@code null} without loading it
+     */
+    public ProductResDto getIfPresent(Integer id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidate(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        cache.invalidateAll(event.productIds());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "catalog.products");
+    }
+}
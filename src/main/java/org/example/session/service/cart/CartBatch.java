@@ -0,0 +1,162 @@
+package org.example.session.service.cart;
+
+import org.example.session.data.dtos.request.cart.CartBatchDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of cart operations folded into at most one final change per product, so the whole batch can be
+ * written with one statement per kind of change. Folding keeps the result of applying the operations one
+ * by one: add after add sums, add after set becomes a set, add after remove deletes the line and starts a
+ * new one, and the last set or remove wins.
+ */
+public final class CartBatch {
+
+    public static final int MAX_OPS = 500;
+
+    private enum Mode { ADD, SET, REMOVE }
+
+    private static final class Line {
+        private Mode mode;
+        private int quantity;
+        private boolean mustExist;
+        private boolean recreate;
+    }
+
+    private final Map<Integer, Line> lines = new LinkedHashMap<>();
+
+    private CartBatch() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the list is empty or too long, an operation is malformed, or a
+     *                                  product is set right after being removed
+     */
+    public static CartBatch of(List<CartBatchDto.Op> ops) {
+        if (ops == null || ops.isEmpty()) {
+            throw new IllegalArgumentException("No cart operations given");
+        }
+        if (ops.size() > MAX_OPS) {
+            throw new IllegalArgumentException("At most " + MAX_OPS + " cart operations per request");
+        }
+
+        CartBatch batch = new CartBatch();
+        for (CartBatchDto.Op op : ops) {
+            if (op.getProductId() == null) {
+                throw new IllegalArgumentException("Product id is required");
+            }
+            String kind = op.getOp() == null ? "" : op.getOp().trim().toLowerCase();
+            switch (kind) {
+                case "add" -> batch.add(op.getProductId(), op.getQuantity());
+                case "set" -> batch.set(op.getProductId(), op.getQuantity());
+                case "remove" -> batch.remove(op.getProductId());
+                default -> throw new IllegalArgumentException("Unknown cart operation: " + op.getOp());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * @return products whose first operation was a set, so their line has to be in the cart already
+     */
+    public List<Integer> mustExist() {
+        List<Integer> res = new ArrayList<>();
+        lines.forEach((id, line) -> {
+            if (line.mustExist) {
+                res.add(id);
+            }
+        });
+        return res;
+    }
+
+    /**
+     * @return products whose line has to be deleted first: removed ones, and ones added again after a
+     *         remove, which start over with a fresh price snapshot and creation time
+     */
+    public List<Integer> removed() {
+        List<Integer> res = new ArrayList<>();
+        lines.forEach((id, line) -> {
+            if (line.mode == Mode.REMOVE || line.recreate) {
+                res.add(id);
+            }
+        });
+        return res;
+    }
+
+    /**
+     * @return product id to the quantity to add to the current line (or to start it with)
+     */
+    public Map<Integer, Integer> added() {
+        return quantities(Mode.ADD);
+    }
+
+    /**
+     * @return product id to the final quantity of the line
+     */
+    public Map<Integer, Integer> set() {
+        return quantities(Mode.SET);
+    }
+
+    private void add(Integer productId, Integer quantity) {
+        int qty = quantity == null || quantity <= 0 ? 1 : quantity;
+        Line line = lines.get(productId);
+        if (line == null) {
+            lines.put(productId, line(Mode.ADD, qty, false));
+        } else if (line.mode == Mode.REMOVE) {
+            line.mode = Mode.SET;
+            line.quantity = qty;
+            line.recreate = true;
+        } else {
+            line.quantity += qty;
+        }
+    }
+
+    private void set(Integer productId, Integer quantity) {
+        int qty = quantity == null ? 1 : quantity;
+        if (qty <= 0) {
+            remove(productId);
+            return;
+        }
+
+        Line line = lines.get(productId);
+        if (line == null) {
+            lines.put(productId, line(Mode.SET, qty, true));
+        } else if (line.mode == Mode.REMOVE) {
+            throw new IllegalArgumentException("Cart item not found: " + productId);
+        } else {
+            line.mode = Mode.SET;
+            line.quantity = qty;
+        }
+    }
+
+    private void remove(Integer productId) {
+        Line line = lines.get(productId);
+        if (line == null) {
+            lines.put(productId, line(Mode.REMOVE, 0, false));
+        } else {
+            line.mode = Mode.REMOVE;
+            line.quantity = 0;
+        }
+    }
+
+    private Map<Integer, Integer> quantities(Mode mode) {
+        Map<Integer, Integer> res = new LinkedHashMap<>();
+        lines.forEach((id, line) -> {
+            if (line.mode == mode) {
+                res.put(id, line.quantity);
+            }
+        });
+        return res;
+    }
+
+    private static Line line(Mode mode, int quantity, boolean mustExist) {
+        Line line = new Line();
+        line.mode = mode;
+        line.quantity = quantity;
+        line.mustExist = mustExist;
+        return line;
+    }
+}
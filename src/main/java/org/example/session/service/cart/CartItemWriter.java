@@ -0,0 +1,190 @@
+package org.example.session.service.cart;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cart item writes as single statements. Each one creates the buyer's cart if needed (relying on the
+ * unique {@code buyer_id}), changes the item through the unique (cart_id, product_id) constraint and bumps
+ * the cart's {@code updated_at}, so concurrent requests for the same cart cannot lose an update.
+ */
+@Repository
+public class CartItemWriter {
+
+    private static final String UPSERT_CART = """
+            insert into carts (buyer_id, created_at, updated_at)
+            values (?, ?, ?)
+            on conflict (buyer_id) do update set updated_at = excluded.updated_at
+            returning id
+            """;
+
+    private static final String ADD = """
+            with cart as (%s)
+            insert into cart_items (cart_id, product_id, quantity, price_snapshot, created_at)
+            select cart.id, p.id, ?, coalesce(p.price, 0), ?
+            from cart
+            join products p on p.id = ? and upper(p.status) <> 'ARCHIVED'
+            on conflict (cart_id, product_id) do update
+            set quantity = cart_items.quantity + excluded.quantity
+            returning cart_id
+            """.formatted(UPSERT_CART);
+
+    private static final String SET_QUANTITY = """
+            with item as (
+                update cart_items ci
+                set quantity = ?
+                from carts c
+                where c.buyer_id = ? and ci.cart_id = c.id and ci.product_id = ?
+                returning ci.cart_id
+            )
+            update carts c
+            set updated_at = ?
+            from item
+            where c.id = item.cart_id
+            returning c.id
+            """;
+
+    private static final String REMOVE = """
+            with cart as (%s),
+            removed as (
+                delete from cart_items ci
+                using cart
+                where ci.cart_id = cart.id and ci.product_id = ?
+            )
+            select id from cart
+            """.formatted(UPSERT_CART);
+
+    private static final String UPSERT_ALL = """
+            insert into cart_items (cart_id, product_id, quantity, price_snapshot, created_at)
+            select c.id, p.id, v.quantity, coalesce(p.price, 0), ?
+            from (select ?::int as id) c
+            cross join unnest(?::int[], ?::int[]) as v(product_id, quantity)
+            join products p on p.id = v.product_id
+            where %s
+            on conflict (cart_id, product_id) do update
+            set quantity = %s
+            returning product_id
+            """;
+
+    private static final String NOT_ARCHIVED = "upper(p.status) <> 'ARCHIVED'";
+
+    private static final String NOT_ARCHIVED_OR_IN_CART = NOT_ARCHIVED
+            + " or exists (select 1 from cart_items ci where ci.cart_id = c.id and ci.product_id = p.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CartItemWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the buyer's cart id, creating the cart if there is none yet
+     */
+    public Integer ensureCart(Integer buyerId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Integer> created = jdbcTemplate.queryForList("""
+                insert into carts (buyer_id, created_at, updated_at)
+                values (?, ?, ?)
+                on conflict (buyer_id) do nothing
+                returning id
+                """, Integer.class, buyerId, now, now);
+        return created.isEmpty()
+                ? jdbcTemplate.queryForObject("select id from carts where buyer_id = ?", Integer.class, buyerId)
+                : created.get(0);
+    }
+
+    /**
+     * Adds {@code quantity} to the line, inserting it with the current price when it is new.
+     *
+     * @return the cart id, or {@code null} when the product does not exist or is archived
+     */
+    public Integer add(Integer buyerId, Integer productId, int quantity) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Integer> res = jdbcTemplate.queryForList(ADD, Integer.class,
+                buyerId, now, now, quantity, now, productId);
+        return res.isEmpty() ? null : res.get(0);
+    }
+
+    /**
+     * @return the cart id, or {@code null} when the cart has no line for the product
+     */
+    public Integer setQuantity(Integer buyerId, Integer productId, int quantity) {
+        List<Integer> res = jdbcTemplate.queryForList(SET_QUANTITY, Integer.class,
+                quantity, buyerId, productId, Timestamp.from(Instant.now()));
+        return res.isEmpty() ? null : res.get(0);
+    }
+
+    /**
+     * @return the cart id; removing a product that is not in the cart is not an error
+     */
+    public Integer remove(Integer buyerId, Integer productId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.queryForObject(REMOVE, Integer.class, buyerId, now, now, productId);
+    }
+
+    /**
+     * Creates the buyer's cart if needed and bumps its {@code updated_at}. The row stays locked until
+     * the transaction ends, so batches for the same cart run one after another.
+     *
+     * @return the cart id
+     */
+    public Integer touchCart(Integer buyerId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.queryForObject(UPSERT_CART, Integer.class, buyerId, now, now);
+    }
+
+    /**
+     * @return those of {@code productIds} that have a line in the cart
+     */
+    public List<Integer> existing(Integer cartId, Collection<Integer> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+                "select product_id from cart_items where cart_id = ? and product_id = any(?::int[])",
+                Integer.class, cartId, productIds.toArray(new Integer[0]));
+    }
+
+    public void removeAll(Integer cartId, Collection<Integer> productIds) {
+        if (!productIds.isEmpty()) {
+            jdbcTemplate.update("delete from cart_items where cart_id = ? and product_id = any(?::int[])",
+                    cartId, productIds.toArray(new Integer[0]));
+        }
+    }
+
+    /**
+     * Adds each quantity to its line, starting new lines at the current price.
+     *
+     * @return ids of the products written; missing and archived products are left out
+     */
+    public List<Integer> addAll(Integer cartId, Map<Integer, Integer> quantities) {
+        return upsertAll(UPSERT_ALL.formatted(NOT_ARCHIVED, "cart_items.quantity + excluded.quantity"),
+                cartId, quantities);
+    }
+
+    /**
+     * Sets each line to its quantity, starting new lines at the current price. Like
+     * {@link #setQuantity}, a line already in the cart can be changed after its product was archived.
+     *
+     * @return ids of the products written; missing products and new lines for archived ones are left out
+     */
+    public List<Integer> setAll(Integer cartId, Map<Integer, Integer> quantities) {
+        return upsertAll(UPSERT_ALL.formatted(NOT_ARCHIVED_OR_IN_CART, "excluded.quantity"), cartId, quantities);
+    }
+
+    private List<Integer> upsertAll(String sql, Integer cartId, Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(sql, Integer.class, Timestamp.from(Instant.now()), cartId,
+                quantities.keySet().toArray(new Integer[0]), quantities.values().toArray(new Integer[0]));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.session.service.catalog;
+
+/**
+ * Filters for browsing ACTIVE products. {@code categoryId} includes the whole subtree under that category.
+ */
+public record CatalogFilter(Integer categoryId, Long minPrice, Long maxPrice, boolean inStock, CatalogSort sort) {
+
+    public CatalogFilter {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        if (sort == null) {
+            sort = CatalogSort.NEWEST;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.session.service.catalog;
+
+import org.example.session.data.dtos.response.product.CategoryFacetResDto;
+import org.example.session.data.dtos.response.product.PriceBucketResDto;
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.service.paging.RowCountEstimator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL behind catalog browsing, over the denormalized {@code product_listing} table. Every statement
+ * starts from ACTIVE rows so the partial indexes from {@code create-product-listing.xml} apply, and category
+ * filters match the whole subtree through {@code category_closure} however deep it is. Facets ignore their own
+ * dimension (price buckets ignore the price range, category counts ignore the category),
+ * so clients can see what widening a filter would return.
+ */
+@Repository
+public class CatalogQueries {
+
+    static final long[] PRICE_EDGES = {0, 1_000, 5_000, 10_000, 50_000, 100_000};
+
+    private static final String SUBTREE = """
+            p.category_id in (select cc.descendant_id from category_closure cc where cc.ancestor_id = :categoryId)""";
+
+    private static final String IN_STOCK = "p.available > 0";
+
+    private static final RowMapper<ProductResDto> PRODUCT_ROW = (rs, n) -> new ProductResDto(
+            rs.getLong("id"),
+            rs.getLong("seller_id"),
+            rs.getString("seller_email"),
+            rs.getLong("category_id"),
+            rs.getString("category_name"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getLong("price"),
+            rs.getString("status"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getTimestamp("updated_at").toInstant());
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    public CatalogQueries(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @return up to {@code limit} rows starting at {@code offset}
+     */
+    public List<ProductResDto> products(CatalogFilter filter, long offset, int limit) {
+        MapSqlParameterSource params = params(filter)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        String sql = """
+                select p.product_id as id, p.seller_id, p.seller_email, p.category_id, p.category_name,
+                       p.title, p.description, p.price, p.status, p.created_at, p.updated_at
+                from product_listing p
+                where p.status = 'ACTIVE' %s
+                order by %s
+                limit :limit offset :offset
+                """.formatted(conditions(filter, true, true), filter.sort().orderBy());
+        return jdbc.query(sql, params, PRODUCT_ROW);
+    }
+
+    public long count(CatalogFilter filter) {
+        Long count = jdbc.queryForObject("select count(*) from product_listing p where p.status = 'ACTIVE'"
+                + conditions(filter, true, true), params(filter), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Planner's row estimate for {@link #count}, without running it.
+     */
+    public long estimate(CatalogFilter filter) {
+        List<String> plan = jdbc.queryForList("explain (format json) select 1 from product_listing p"
+                + " where p.status = 'ACTIVE'" + conditions(filter, true, true), params(filter), String.class);
+        return plan.isEmpty() ? 0 : RowCountEstimator.planRows(plan.get(0));
+    }
+
+    public List<PriceBucketResDto> priceBuckets(CatalogFilter filter) {
+        StringBuilder select = new StringBuilder("select ");
+        for (int i = 0; i < PRICE_EDGES.length; i++) {
+            if (i > 0) {
+                select.append(", ");
+            }
+            select.append("count(*) filter (where p.price >= ").append(PRICE_EDGES[i]);
+            if (i + 1 < PRICE_EDGES.length) {
+                select.append(" and p.price < ").append(PRICE_EDGES[i + 1]);
+            }
+            select.append(") as b").append(i);
+        }
+
+        String sql = """
+                %s
+                from product_listing p
+                where p.status = 'ACTIVE' %s
+                """.formatted(select, conditions(filter, true, false));
+
+        return jdbc.query(sql, params(filter), rs -> {
+            List<PriceBucketResDto> buckets = new ArrayList<>();
+            if (rs.next()) {
+                for (int i = 0; i < PRICE_EDGES.length; i++) {
+                    Long to = i + 1 < PRICE_EDGES.length ? PRICE_EDGES[i + 1] : null;
+                    buckets.add(new PriceBucketResDto(PRICE_EDGES[i], to, rs.getLong("b" + i)));
+                }
+            }
+            return buckets;
+        });
+    }
+
+    /**
+     * Counts for the direct children of the filtered category (roots when there is none),
+     * each including its own descendants.
+     */
+    public List<CategoryFacetResDto> childCategories(CatalogFilter filter) {
+        String start = filter.categoryId() == null ? "r.parent_id is null" : "r.parent_id = :categoryId";
+
+        String sql = """
+                select r.id, r.name, count(p.product_id) as cnt
+                from categories r
+                join category_closure cc on cc.ancestor_id = r.id
+                left join product_listing p on p.category_id = cc.descendant_id and p.status = 'ACTIVE' %s
+                where %s
+                group by r.id, r.name
+                order by r.name
+                """.formatted(conditions(filter, false, true), start);
+
+        return jdbc.query(sql, params(filter),
+                (rs, n) -> new CategoryFacetResDto(rs.getLong("id"), rs.getString("name"), rs.getLong("cnt")));
+    }
+
+    private static MapSqlParameterSource params(CatalogFilter filter) {
+        return new MapSqlParameterSource()
+                .addValue("categoryId", filter.categoryId())
+                .addValue("minPrice", filter.minPrice())
+                .addValue("maxPrice", filter.maxPrice());
+    }
+
+    private static String conditions(CatalogFilter filter, boolean withCategory, boolean withPrice) {
+        StringBuilder sql = new StringBuilder();
+        if (withCategory && filter.categoryId() != null) {
+            sql.append(" and ").append(SUBTREE);
+        }
+        if (withPrice && filter.minPrice() != null) {
+            sql.append(" and p.price >= :minPrice");
+        }
+        if (withPrice && filter.maxPrice() != null) {
+            sql.append(" and p.price <= :maxPrice");
+        }
+        if (filter.inStock()) {
+            sql.append(" and ").append(IN_STOCK);
+        }
+        return sql.toString();
+    }
+}
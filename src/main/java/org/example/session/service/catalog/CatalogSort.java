@@ -0,0 +1,31 @@
+package org.example.session.service.catalog;
+
+import java.util.Locale;
+
+public enum CatalogSort {
+    NEWEST("p.created_at desc, p.product_id desc"),
+    PRICE_ASC("p.price asc, p.product_id asc"),
+    PRICE_DESC("p.price desc, p.product_id desc");
+
+    private final String orderBy;
+
+    CatalogSort(String orderBy) {
+        this.orderBy = orderBy;
+    }
+
+    public String orderBy() {
+        return orderBy;
+    }
+
+    public static CatalogSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + value);
+        }
+    }
+}
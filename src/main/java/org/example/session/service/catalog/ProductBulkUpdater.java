@@ -0,0 +1,66 @@
+package org.example.session.service.catalog;
+
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies many product changes with one UPDATE joined to the unnested change arrays. Rows
+ * whose status, category or price is invalid, or that belong to another seller, are filtered
+ * out by the statement itself and simply not returned.
+ */
+@Repository
+public class ProductBulkUpdater {
+
+    private static final String UPDATE = """
+            update products p
+            set price = coalesce(v.price, p.price),
+                status = coalesce(upper(v.status), p.status),
+                category_id = coalesce(v.category_id, p.category_id),
+                updated_at = ?
+            from unnest(?::int[], ?::bigint[], ?::varchar[], ?::int[]) as v(id, price, status, category_id)
+            where p.id = v.id
+              and (cast(? as int) is null or p.seller_id = ?)
+              and (v.status is null or upper(v.status) in ('DRAFT', 'ACTIVE', 'ARCHIVED'))
+              and (v.price is null or v.price >= 0)
+              and (v.category_id is null or exists (select 1 from categories c where c.id = v.category_id))
+            returning p.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductBulkUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param sellerId restricts the update to this seller's products, or {@code null} for any product
+     * @return ids of the rows that were updated
+     */
+    public List<Integer> apply(Integer sellerId, Collection<ProductBulkUpdateDto.Item> items) {
+        int n = items.size();
+        Integer[] ids = new Integer[n];
+        Long[] prices = new Long[n];
+        String[] statuses = new String[n];
+        Integer[] categoryIds = new Integer[n];
+
+        int i = 0;
+        for (ProductBulkUpdateDto.Item item : items) {
+            ids[i] = item.getId();
+            prices[i] = item.getPrice();
+            statuses[i] = item.getStatus();
+            categoryIds[i] = item.getCategoryId();
+            i++;
+        }
+
+        return jdbcTemplate.queryForList(UPDATE, Integer.class,
+                Timestamp.from(Instant.now()), ids, prices, statuses, categoryIds, sellerId, sellerId);
+    }
+}
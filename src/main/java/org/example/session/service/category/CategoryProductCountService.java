@@ -0,0 +1,160 @@
+package org.example.session.service.category;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.response.CategoryCountsReconcileResDto;
+import org.example.session.service.event.ProductChangedEvent;
+import org.example.session.service.event.ProductsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mirrors {@code category_product_counts} in memory for category navigation.
+ * <p>
+ * The table itself is kept current by the statement triggers from {@code create-category-product-counts.xml},
+ * which turn every products write (and every category move) into per-category deltas along {@code category_closure}. This service
+ * re-reads it shortly after a product write commits here (and at least every {@code max-age}, for writes
+ * on other instances), and periodically recomputes it set-based from {@code products} to correct drift.
+ */
+@Slf4j
+@Service
+public class CategoryProductCountService implements MeterBinder {
+
+    private static final String SELECT = """
+            select category_id, active_count
+            from category_product_counts
+            where active_count <> 0
+            order by category_id
+            """;
+
+    private static final String RECONCILE = """
+            with actual as (
+                select cc.ancestor_id as category_id, count(*)::int as active_count
+                from products p
+                join category_closure cc on cc.descendant_id = p.category_id
+                where p.status = 'ACTIVE'
+                group by cc.ancestor_id
+            )
+            insert into category_product_counts (category_id, active_count)
+            select k.category_id, coalesce(a.active_count, 0)
+            from (select category_id from actual
+                  union
+                  select category_id from category_product_counts) k
+            left join actual a on a.category_id = k.category_id
+            on conflict (category_id) do update
+            set active_count = excluded.active_count
+            where category_product_counts.active_count <> excluded.active_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+
+    private final AtomicLong corrections = new AtomicLong();
+
+    private volatile CategoryProductCounts counts;
+    private volatile boolean dirty;
+    private volatile long loadedAt;
+
+    @Autowired
+    public CategoryProductCountService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       @Value("${app.catalog.category-counts.max-age:30s}") Duration maxAge) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = maxAge;
+    }
+
+    public CategoryProductCounts current() {
+        CategoryProductCounts c = counts;
+        return c != null ? c : reload();
+    }
+
+    public synchronized CategoryProductCounts reload() {
+        dirty = false;
+        CategoryProductCounts fresh = jdbcTemplate.query(SELECT, rs -> {
+            int[] ids = new int[256];
+            int[] values = new int[256];
+            int size = 0;
+            while (rs.next()) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                ids[size] = rs.getInt("category_id");
+                values[size] = rs.getInt("active_count");
+                size++;
+            }
+            return size == 0 ? CategoryProductCounts.EMPTY : new CategoryProductCounts(ids, values, size);
+        });
+        counts = fresh;
+        loadedAt = System.nanoTime();
+        return fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        dirty = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.category-counts.refresh-interval:1s}")
+    public void refresh() {
+        if (dirty || counts == null || System.nanoTime() - loadedAt > maxAge.toNanos()) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.category-counts.reconcile-interval:1h}",
+            initialDelayString = "${app.catalog.category-counts.reconcile-interval:1h}")
+    public void reconcilePeriodically() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes every counter from {@code products} and fixes the rows that drifted. The table is locked
+     * against the triggers for the duration, so no delta can land between the count and the fix.
+     */
+    public CategoryCountsReconcileResDto reconcile() {
+        long start = System.nanoTime();
+        Integer corrected = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("lock table category_product_counts in share row exclusive mode");
+            return jdbcTemplate.update(RECONCILE);
+        });
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        reload();
+
+        if (corrected != null && corrected > 0) {
+            corrections.addAndGet(corrected);
+            log.warn("Category product counts reconciled: {} rows corrected in {} ms", corrected, elapsedMs);
+        }
+        return new CategoryCountsReconcileResDto(corrected, elapsedMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.category_counts.size", this, s -> s.counts == null ? 0 : s.counts.size())
+                .register(registry);
+        FunctionCounter.builder("catalog.category_counts.corrections", corrections, AtomicLong::get)
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.session.service.category;
+
+import org.example.session.service.version.ResourceVersion;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of {@code category_product_counts}: ACTIVE products per category including its
+ * descendants. Two parallel arrays sorted by category id; categories without products are left out
+ * and read as 0.
+ */
+public final class CategoryProductCounts {
+
+    static final CategoryProductCounts EMPTY = new CategoryProductCounts(new int[0], new int[0], 0);
+
+    private final int[] categoryIds;
+    private final int[] counts;
+    private final int size;
+    private final ResourceVersion version;
+
+    CategoryProductCounts(int[] categoryIds, int[] counts, int size) {
+        this.categoryIds = categoryIds;
+        this.counts = counts;
+        this.size = size;
+
+        long hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * (31 * hash + categoryIds[i]) + counts[i];
+        }
+        this.version = new ResourceVersion("\"category-counts-" + size + "-" + Long.toHexString(hash) + "\"", -1);
+    }
+
+    public int count(int categoryId) {
+        int i = Arrays.binarySearch(categoryIds, 0, size, categoryId);
+        return i < 0 ? 0 : Math.max(counts[i], 0);
+    }
+
+    /**
+     * @return category id to count for every category with at least one ACTIVE product, by id
+     */
+    public Map<Integer, Integer> asMap() {
+        Map<Integer, Integer> res = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (counts[i] > 0) {
+                res.put(categoryIds[i], counts[i]);
+            }
+        }
+        return res;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Validators derived from the contents, so an unchanged reload keeps the same ETag.
+     */
+    public ResourceVersion version() {
+        return version;
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.session.service.category;
+
+import org.example.session.data.dtos.response.CategoryResDto;
+import org.example.session.data.dtos.response.CategoryTreeNodeResDto;
+import org.example.session.service.version.ResourceVersion;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable category forest. Nodes are addressed by their position in {@code ids} (sorted, so a lookup
+ * is a binary search), parents are positions too, and children are stored CSR-style: the children of
+ * node {@code i} are {@code childIndexes[childOffsets[i] .. childOffsets[i + 1])}, ordered by name.
+ * <p>
+ * The JSON of the whole forest is rendered once when the tree is built.
+ */
+public final class CategoryTree {
+
+    private final int[] ids;
+    private final int[] parents;
+    private final String[] names;
+    private final Instant[] createdAt;
+    private final int[] roots;
+    private final int[] childOffsets;
+    private final int[] childIndexes;
+    private final ResourceVersion version;
+    private final byte[] json;
+
+    private CategoryTree(List<Row> rows, ResourceVersion version, JsonMapper jsonMapper) {
+        Row[] sorted = rows.toArray(new Row[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Row::id));
+
+        int n = sorted.length;
+        ids = new int[n];
+        names = new String[n];
+        createdAt = new Instant[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = sorted[i].id();
+            names[i] = sorted[i].name();
+            createdAt[i] = sorted[i].createdAt();
+        }
+
+        parents = new int[n];
+        int[] childCounts = new int[n];
+        int rootCount = 0;
+        for (int i = 0; i < n; i++) {
+            Integer parentId = sorted[i].parentId();
+            parents[i] = parentId == null ? -1 : indexOf(parentId);
+            if (parents[i] < 0) {
+                rootCount++;
+            } else {
+                childCounts[parents[i]]++;
+            }
+        }
+
+        childOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            childOffsets[i + 1] = childOffsets[i] + childCounts[i];
+        }
+        int[] fill = Arrays.copyOf(childOffsets, n);
+        Integer[] children = new Integer[n - rootCount];
+        Integer[] rootList = new Integer[rootCount];
+        int r = 0;
+        for (int i = 0; i < n; i++) {
+            if (parents[i] < 0) {
+                rootList[r++] = i;
+            } else {
+                children[fill[parents[i]]++] = i;
+            }
+        }
+
+        Comparator<Integer> byName = Comparator.<Integer, String>comparing(i -> names[i]).thenComparingInt(i -> ids[i]);
+        Arrays.sort(rootList, byName);
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(children, childOffsets[i], childOffsets[i + 1], byName);
+        }
+        roots = Arrays.stream(rootList).mapToInt(Integer::intValue).toArray();
+        childIndexes = Arrays.stream(children).mapToInt(Integer::intValue).toArray();
+
+        this.version = version;
+        json = jsonMapper.writeValueAsBytes(nodes(roots, 0, roots.length));
+    }
+
+    /**
+     * @param version the stored version read before {@code rows}, so a tree is never newer than its version
+     */
+    static CategoryTree of(List<Row> rows, ResourceVersion version, JsonMapper jsonMapper) {
+        return new CategoryTree(rows, version, jsonMapper);
+    }
+
+    /**
+     * One version for every category read, from the counter a statement trigger bumps on any insert,
+     * update or delete of categories, and the time of that write.
+     */
+    public static ResourceVersion versionOf(long counter, Instant updatedAt) {
+        return ResourceVersion.of("categories", counter, updatedAt);
+    }
+
+    public ResourceVersion version() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the whole forest as a JSON array of nested nodes; shared, must not be modified
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    public List<CategoryResDto> roots() {
+        return dtos(roots, 0, roots.length);
+    }
+
+    /**
+     * @return direct children by name, empty for an unknown id
+     */
+    public List<CategoryResDto> children(int id) {
+        int i = indexOf(id);
+        return i < 0 ? List.of() : dtos(childIndexes, childOffsets[i], childOffsets[i + 1]);
+    }
+
+    /**
+     * @return the category's name, or null for an unknown id
+     */
+    public String name(int id) {
+        int i = indexOf(id);
+        return i < 0 ? null : names[i];
+    }
+
+    public CategoryResDto get(int id) {
+        return dto(require(id));
+    }
+
+    /**
+     * @return categories from the root down to {@code id}, inclusive
+     */
+    public List<CategoryResDto> path(int id) {
+        List<CategoryResDto> path = new ArrayList<>();
+        for (int i = require(id); i >= 0; i = parents[i]) {
+            path.add(0, dto(i));
+        }
+        return path;
+    }
+
+    /**
+     * @return the category and all of its descendants, unordered; empty for an unknown id
+     */
+    public int[] subtreeIds(int id) {
+        int start = indexOf(id);
+        if (start < 0) {
+            return new int[0];
+        }
+
+        int[] queue = new int[ids.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int i = queue[head++];
+            for (int c = childOffsets[i]; c < childOffsets[i + 1]; c++) {
+                queue[tail++] = childIndexes[c];
+            }
+        }
+
+        int[] res = new int[tail];
+        for (int k = 0; k < tail; k++) {
+            res[k] = ids[queue[k]];
+        }
+        return res;
+    }
+
+    private int indexOf(int id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i < 0 ? -1 : i;
+    }
+
+    private int require(int id) {
+        int i = indexOf(id);
+        if (i < 0) {
+            throw new IllegalArgumentException("Category not found: " + id);
+        }
+        return i;
+    }
+
+    private List<CategoryResDto> dtos(int[] indexes, int from, int to) {
+        List<CategoryResDto> res = new ArrayList<>(to - from);
+        for (int k = from; k < to; k++) {
+            res.add(dto(indexes[k]));
+        }
+        return res;
+    }
+
+    private CategoryResDto dto(int i) {
+        CategoryResDto dto = new CategoryResDto();
+        dto.setId(ids[i]);
+        dto.setName(names[i]);
+        if (parents[i] >= 0) {
+            dto.setParentId(ids[parents[i]]);
+            dto.setParentName(names[parents[i]]);
+        }
+        dto.setCreatedAt(createdAt[i]);
+        return dto;
+    }
+
+    private List<CategoryTreeNodeResDto> nodes(int[] indexes, int from, int to) {
+        List<CategoryTreeNodeResDto> res = new ArrayList<>(to - from);
+        for (int k = from; k < to; k++) {
+            int i = indexes[k];
+            res.add(new CategoryTreeNodeResDto(ids[i], names[i], nodes(childIndexes, childOffsets[i], childOffsets[i + 1])));
+        }
+        return res;
+    }
+
+    record Row(int id, Integer parentId, String name, Instant createdAt) {
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.session.service.category;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.service.event.CategoryChangedEvent;
+import org.example.session.service.version.ResourceVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Holds the current {@link CategoryTree}. It is reloaded after every category create commits, and a
+ * periodic check of the table's version picks up categories changed by other instances or by hand.
+ */
+@Slf4j
+@Service
+public class CategoryTreeService implements MeterBinder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    private volatile CategoryTree tree;
+
+    @Autowired
+    public CategoryTreeService(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public CategoryTree current() {
+        CategoryTree t = tree;
+        return t != null ? t : reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    public synchronized CategoryTree reload() {
+        long start = System.nanoTime();
+        // version first: a write landing in between only makes the next check reload once more
+        ResourceVersion version = storedVersion();
+        List<CategoryTree.Row> rows = jdbcTemplate.query("select id, parent_id, name, created_at from categories",
+                (rs, n) -> new CategoryTree.Row(rs.getInt("id"), (Integer) rs.getObject("parent_id"),
+                        rs.getString("name"), rs.getTimestamp("created_at").toInstant()));
+        CategoryTree fresh = CategoryTree.of(rows, version, jsonMapper);
+        tree = fresh;
+
+        log.info("Category tree loaded: {} categories, {} bytes of JSON in {} ms",
+                fresh.size(), fresh.json().length, (System.nanoTime() - start) / 1_000_000);
+        return fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.category-tree.check-interval:1m}")
+    public void reloadIfChanged() {
+        CategoryTree t = tree;
+        if (t == null || !storedVersion().etag().equals(t.version().etag())) {
+            reload();
+        }
+    }
+
+    /**
+     * Version of the categories table itself, see {@link CategoryTree#versionOf}.
+     */
+    public ResourceVersion storedVersion() {
+        return jdbcTemplate.queryForObject("select version, updated_at from category_versions where id = 1",
+                (rs, n) -> CategoryTree.versionOf(rs.getLong("version"), rs.getTimestamp("updated_at").toInstant()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.categories.size", this, s -> s.tree == null ? 0 : s.tree.size())
+                .register(registry);
+        Gauge.builder("catalog.categories.json", this, s -> s.tree == null ? 0 : s.tree.json().length)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
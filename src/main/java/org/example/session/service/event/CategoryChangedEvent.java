@@ -0,0 +1,7 @@
+package org.example.session.service.event;
+
+/**
+ * Published by {@code CategoryService} when a category is created.
+ */
+public record CategoryChangedEvent(Integer categoryId) {
+}
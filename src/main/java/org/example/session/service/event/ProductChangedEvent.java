@@ -0,0 +1,8 @@
+package org.example.session.service.event;
+
+/**
+ * Published by {@code ProductService} whenever a product is created or its title, price, category
+ * or status may have changed. Listeners should re-read the row after commit rather than trust a payload.
+ */
+public record ProductChangedEvent(Integer productId) {
+}
@@ -0,0 +1,10 @@
+package org.example.session.service.event;
+
+import java.util.List;
+
+/**
+ * Batch form of {@link ProductChangedEvent}, published once for a set-based write so listeners
+ * can refresh all affected products together.
+ */
+public record ProductsChangedEvent(List<Integer> productIds) {
+}
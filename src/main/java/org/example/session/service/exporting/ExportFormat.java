@@ -0,0 +1,36 @@
+package org.example.session.service.exporting;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + value);
+        }
+    }
+}
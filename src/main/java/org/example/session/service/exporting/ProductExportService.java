@@ -0,0 +1,209 @@
+package org.example.session.service.exporting;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.response.product.ProductExportRowDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Full catalog dumps written straight to the response. Rows are read through a forward-only
+ * server-side cursor (PostgreSQL only streams with a fetch size inside a transaction) and are
+ * never turned into entities, so heap use does not grow with the number of rows.
+ * <p>
+ * A failed write (typically the client went away) aborts the read: the statement is closed,
+ * the cursor is discarded and the transaction rolls back.
+ */
+@Slf4j
+@Service
+public class ProductExportService {
+
+    private static final String SELECT = """
+            select p.id, p.seller_id, u.email as seller_email, p.category_id, c.name as category_name,
+                   p.title, p.description, p.price, p.status,
+                   i.quantity, i.reserved, p.created_at, p.updated_at
+            from products p
+            join users u on u.id = p.seller_id
+            join categories c on c.id = p.category_id
+            left join inventory i on i.product_id = p.id
+            """;
+
+    private static final String CSV_HEADER =
+            "id,seller_id,seller_email,category_id,category_name,title,description,price,status,quantity,reserved,created_at,updated_at\n";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMapper jsonMapper;
+
+    @Autowired
+    public ProductExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                JsonMapper jsonMapper,
+                                @Value("${app.catalog.export.fetch-size:2000}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * @param sellerId only this seller's products, or every product when {@code null}
+     * @return number of rows written
+     */
+    public long export(Integer sellerId, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        String sql = SELECT + (sellerId == null ? "" : "where p.seller_id = ? ") + "order by p.id";
+        Object[] args = sellerId == null ? new Object[0] : new Object[]{sellerId};
+
+        long[] rows = {0};
+        try {
+            rowWriter.start();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                        try {
+                            rowWriter.write(toRow(rs));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }, args));
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            log.info("Product export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        log.info("Product export ({}, seller {}): {} rows in {} ms",
+                format, sellerId == null ? "all" : sellerId, rows[0], (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    private static ProductExportRowDto toRow(ResultSet rs) throws SQLException {
+        ProductExportRowDto row = new ProductExportRowDto();
+        row.setId(rs.getLong("id"));
+        row.setSellerId(rs.getLong("seller_id"));
+        row.setSellerEmail(rs.getString("seller_email"));
+        row.setCategoryId(rs.getLong("category_id"));
+        row.setCategoryName(rs.getString("category_name"));
+        row.setTitle(rs.getString("title"));
+        row.setDescription(rs.getString("description"));
+        row.setPrice(rs.getLong("price"));
+        row.setStatus(rs.getString("status"));
+        row.setQuantity((Integer) rs.getObject("quantity"));
+        row.setReserved((Integer) rs.getObject("reserved"));
+        row.setCreatedAt(instant(rs.getTimestamp("created_at")));
+        row.setUpdatedAt(instant(rs.getTimestamp("updated_at")));
+        return row;
+    }
+
+    private static Instant instant(Timestamp ts) {
+        return ts == null ? null : ts.toInstant();
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ProductExportRowDto row) throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ProductExportRowDto row) throws IOException {
+            writer.write(jsonMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ProductExportRowDto row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getSellerId()));
+            writer.write(',');
+            field(row.getSellerEmail());
+            writer.write(',');
+            writer.write(String.valueOf(row.getCategoryId()));
+            writer.write(',');
+            field(row.getCategoryName());
+            writer.write(',');
+            field(row.getTitle());
+            writer.write(',');
+            field(row.getDescription());
+            writer.write(',');
+            writer.write(String.valueOf(row.getPrice()));
+            writer.write(',');
+            field(row.getStatus());
+            writer.write(',');
+            field(row.getQuantity());
+            writer.write(',');
+            field(row.getReserved());
+            writer.write(',');
+            field(row.getCreatedAt());
+            writer.write(',');
+            field(row.getUpdatedAt());
+            writer.write('\n');
+        }
+
+        private void field(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+
+            String s = value.toString();
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+                writer.write(s);
+                return;
+            }
+
+            writer.write('"');
+            writer.write(s.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.session.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally quoted, {@code ""} inside quotes is a
+ * literal quote and quoted fields may span lines. Reads one record at a time from the underlying reader.
+ */
+class CsvReader {
+
+    private final Reader in;
+    private int pending = -2;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at end of input
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') {
+                        unread(n);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    /**
+     * @return line number where the last returned record started
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
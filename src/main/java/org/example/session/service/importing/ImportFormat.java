@@ -0,0 +1,20 @@
+package org.example.session.service.importing;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                + " (use text/csv or application/x-ndjson)");
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.session.service.importing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.request.product.ProductImportRowDto;
+import org.example.session.data.dtos.response.product.ProductImportErrorResDto;
+import org.example.session.data.dtos.response.product.ProductImportResDto;
+import org.example.session.security.user.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk product import for sellers. The upload is parsed while it streams in and valid rows are
+ * buffered only up to one chunk, which is written in its own transaction as two JDBC batches
+ * (products, then inventory) with ids taken from the products sequence up front. Memory stays
+ * bounded by the chunk size and the error report cap regardless of file size.
+ * <p>
+ * Imported products start as DRAFT, the same as {@code ProductService.create}, so no read
+ * model needs to hear about them until they are activated.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int MAX_TITLE_LENGTH = 160;
+
+    private static final String INSERT_PRODUCT = """
+            insert into products (id, seller_id, category_id, title, description, price, status, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, 'DRAFT', ?, ?)
+            """;
+
+    private static final String INSERT_INVENTORY = """
+            insert into inventory (product_id, quantity, reserved, updated_at)
+            values (?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                JsonMapper jsonMapper,
+                                @Value("${app.catalog.import.chunk-size:1000}") int chunkSize,
+                                @Value("${app.catalog.import.max-errors:1000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxErrors = maxErrors;
+    }
+
+    public ProductImportResDto importProducts(UserServiceImpl principal, InputStream body, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+
+        Run run = new Run(principal.getId(), new HashSet<>(jdbcTemplate.queryForList("select id from categories", Integer.class)));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            if (format == ImportFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IllegalArgumentException e) {
+            // malformed framing (bad header, unterminated quote): nothing after this point can be trusted
+            run.error(run.lastLine, e.getMessage());
+        }
+        flush(run);
+
+        ProductImportResDto report = run.report;
+        long elapsedNanos = System.nanoTime() - start;
+        report.setElapsedMs(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getImported() * 1_000_000_000.0 / elapsedNanos);
+
+        log.info("Product import for seller {}: {} rows read, {} imported, {} failed in {} ms ({} rows/s)",
+                principal.getId(), report.getRowsRead(), report.getImported(), report.getFailed(),
+                report.getElapsedMs(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, Run run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("categoryid") || !columns.containsKey("title") || !columns.containsKey("price")) {
+            throw new IllegalArgumentException("CSV header must contain category_id, title and price");
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            run.lastLine = csv.recordLine();
+            if (fields.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+
+            ProductImportRowDto row = new ProductImportRowDto();
+            try {
+                row.setCategoryId(parseInt(field(fields, columns, "categoryid"), "category_id"));
+                row.setTitle(field(fields, columns, "title"));
+                row.setDescription(field(fields, columns, "description"));
+                row.setPrice(parseLong(field(fields, columns, "price"), "price"));
+                row.setQuantity(parseInt(field(fields, columns, "quantity"), "quantity"));
+            } catch (NumberFormatException e) {
+                run.reject(csv.recordLine(), e.getMessage());
+                continue;
+            }
+            accept(run, csv.recordLine(), row);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Run run) throws IOException {
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            run.lastLine = line;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            ProductImportRowDto row;
+            try {
+                row = jsonMapper.readValue(text, ProductImportRowDto.class);
+            } catch (JacksonException e) {
+                run.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(run, line, row);
+        }
+    }
+
+    private void accept(Run run, long line, ProductImportRowDto row) {
+        String problem = validate(row, run.categories);
+        if (problem != null) {
+            run.reject(line, problem);
+            return;
+        }
+
+        run.report.setRowsRead(run.report.getRowsRead() + 1);
+        run.rows.add(row);
+        run.lines.add(line);
+        if (run.rows.size() >= chunkSize) {
+            flush(run);
+        }
+    }
+
+    private static String validate(ProductImportRowDto row, Set<Integer> categories) {
+        if (row.getCategoryId() == null) {
+            return "category_id is required";
+        }
+        if (!categories.contains(row.getCategoryId())) {
+            return "Category not found: " + row.getCategoryId();
+        }
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (row.getTitle().trim().length() > MAX_TITLE_LENGTH) {
+            return "title is longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (row.getPrice() == null) {
+            return "price is required";
+        }
+        if (row.getPrice() < 0) {
+            return "price cannot be negative";
+        }
+        if (row.getQuantity() != null && row.getQuantity() < 0) {
+            return "quantity cannot be negative";
+        }
+        return null;
+    }
+
+    private void flush(Run run) {
+        List<ProductImportRowDto> rows = run.rows;
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(run.sellerId, rows));
+            run.report.setImported(run.report.getImported() + rows.size());
+        } catch (DataAccessException e) {
+            log.warn("Product import chunk starting at line {} failed", run.lines.get(0), e);
+            run.report.setFailed(run.report.getFailed() + rows.size());
+            run.error(run.lines.get(0), "Chunk of " + rows.size() + " rows starting here was not imported: "
+                    + e.getMostSpecificCause().getMessage());
+        }
+
+        rows.clear();
+        run.lines.clear();
+    }
+
+    private void write(Integer sellerId, List<ProductImportRowDto> rows) {
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "select nextval(pg_get_serial_sequence('products', 'id'))::int from generate_series(1, ?)",
+                Integer.class, rows.size());
+        Timestamp now = Timestamp.from(Instant.now());
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductImportRowDto row = rows.get(i);
+                ps.setInt(1, ids.get(i));
+                ps.setInt(2, sellerId);
+                ps.setInt(3, row.getCategoryId());
+                ps.setString(4, row.getTitle().trim());
+                if (row.getDescription() == null || row.getDescription().isBlank()) {
+                    ps.setNull(5, Types.VARCHAR);
+                } else {
+                    ps.setString(5, row.getDescription());
+                }
+                ps.setLong(6, row.getPrice());
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_INVENTORY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Integer quantity = rows.get(i).getQuantity();
+                ps.setInt(1, ids.get(i));
+                ps.setInt(2, quantity == null ? 0 : quantity);
+                ps.setTimestamp(3, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isBlank() ? null : value;
+    }
+
+    private static Integer parseInt(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * State of one import: the pending chunk and the report being built.
+     */
+    private class Run {
+        private final Integer sellerId;
+        private final Set<Integer> categories;
+        private final ProductImportResDto report = new ProductImportResDto();
+        private final List<ProductImportRowDto> rows = new ArrayList<>(chunkSize);
+        private final List<Long> lines = new ArrayList<>(chunkSize);
+        private long lastLine;
+
+        private Run(Integer sellerId, Set<Integer> categories) {
+            this.sellerId = sellerId;
+            this.categories = categories;
+        }
+
+        private void reject(long line, String message) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            report.setFailed(report.getFailed() + 1);
+            error(line, message);
+        }
+
+        private void error(long line, String message) {
+            if (report.getErrors().size() < maxErrors) {
+                report.getErrors().add(new ProductImportErrorResDto(line, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.session.service.listing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.response.product.ProductListingRebuildResDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Owns {@code product_listing}, the join of products, sellers, categories and stock that list endpoints
+ * read instead of joining four tables per page.
+ * <p>
+ * Statement-level triggers from {@code create-product-listing.xml} keep the table in step with every
+ * write to those tables inside the writing transaction, whether it comes from JPA, the import batches
+ * or the set-based bulk update. This service only regenerates it from scratch.
+ */
+@Slf4j
+@Service
+public class ProductListingService {
+
+    private static final String INSERT_ALL = """
+            insert into product_listing (product_id, seller_id, seller_email, category_id, category_name,
+                                         title, description, price, status, available, created_at, updated_at)
+            select p.id, p.seller_id, u.email, p.category_id, c.name,
+                   p.title, p.description, p.price, p.status,
+                   greatest(coalesce(i.quantity - i.reserved, 0), 0), p.created_at, p.updated_at
+            from products p
+            join users u on u.id = p.seller_id
+            join categories c on c.id = p.category_id
+            left join inventory i on i.product_id = p.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductListingService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces every row with one set-based insert. Readers keep seeing the previous rows until
+     * the transaction commits. Writes to the source tables wait for the rebuild: a product inserted
+     * between the delete and the insert would otherwise collide with its trigger-made row, and a stock
+     * or rename update could land on a row the rebuild is about to replace with stale data.
+     */
+    @Transactional
+    public ProductListingRebuildResDto rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("lock table products, inventory, users, categories in share mode");
+        int removed = jdbcTemplate.update("delete from product_listing");
+        int inserted = jdbcTemplate.update(INSERT_ALL);
+        jdbcTemplate.execute("analyze product_listing");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Product listing rebuilt: {} rows replaced by {} in {} ms", removed, inserted, elapsedMs);
+        return new ProductListingRebuildResDto(inserted, elapsedMs);
+    }
+}
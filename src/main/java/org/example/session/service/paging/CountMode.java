@@ -0,0 +1,25 @@
+package org.example.session.service.paging;
+
+import java.util.Locale;
+
+/**
+ * How a list endpoint reports its total: an exact COUNT, nothing at all (Slice, hasNext only),
+ * or the planner's row estimate.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    ESTIMATE;
+
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count mode: " + value);
+        }
+    }
+}
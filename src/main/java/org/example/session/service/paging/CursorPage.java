@@ -0,0 +1,18 @@
+package org.example.session.service.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
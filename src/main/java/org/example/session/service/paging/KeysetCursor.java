@@ -0,0 +1,41 @@
+package org.example.session.service.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page ordered by (created_at DESC, id DESC).
+ * Clients only ever see the opaque base64url form.
+ */
+public record KeysetCursor(Instant createdAt, Integer id) {
+
+    private static final String VERSION = "k1";
+
+    public String encode() {
+        String raw = VERSION + ":" + createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a blank token, i.e. the first page
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            return new KeysetCursor(createdAt, Integer.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
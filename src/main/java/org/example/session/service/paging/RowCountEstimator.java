@@ -0,0 +1,53 @@
+package org.example.session.service.paging;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the planner's row estimate for a query via EXPLAIN instead of running COUNT(*).
+ * Accuracy follows table statistics, so totals are approximate by design.
+ */
+@Component
+public class RowCountEstimator {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RowCountEstimator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long estimate(String sql, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        return plan.isEmpty() ? 0 : planRows(plan.get(0));
+    }
+
+    /**
+     * @return the top node's row estimate from {@code EXPLAIN (FORMAT JSON)} output, 0 when there is none
+     */
+    public static long planRows(String planJson) {
+        Matcher m = PLAN_ROWS.matcher(planJson);
+        return m.find() ? Long.parseLong(m.group(1)) : 0;
+    }
+
+    /**
+     * Turns a slice into a page whose total is the estimate, never less than what is already known to exist.
+     */
+    public <T> Slice<T> withEstimatedTotal(Slice<T> slice, String sql, Object... args) {
+        return withEstimatedTotal(slice, estimate(sql, args));
+    }
+
+    public <T> Slice<T> withEstimatedTotal(Slice<T> slice, long estimate) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(estimate, seen));
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.session.service.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a ranked search page ordered by (rank DESC, id DESC).
+ * The rank round-trips through its exact float bits, so the seek predicate never skips ties.
+ */
+public record SearchCursor(float rank, Integer id) {
+
+    private static final String VERSION = "s1";
+
+    public String encode() {
+        String raw = VERSION + ":" + Float.floatToIntBits(rank) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a blank token, i.e. the first page
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(parts[1])), Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.session.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of product ids backed by a primitive array.
+ */
+final class IntPostings {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+        if (size == 0 || ids[size - 1] < id) {
+            grow();
+            ids[size++] = id;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        grow();
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        if (size > 16 && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Backing array, valid up to {@link #size()}. Callers must not modify it.
+     */
+    int[] array() {
+        return ids;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    private void grow() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
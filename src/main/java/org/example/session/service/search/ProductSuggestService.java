@@ -0,0 +1,140 @@
+package org.example.session.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.data.dtos.response.product.ProductSuggestionResDto;
+import org.example.session.db.repositoty.ProductRepo;
+import org.example.session.db.entity.Product;
+import org.example.session.service.event.ProductChangedEvent;
+import org.example.session.service.event.ProductsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Type-ahead over ACTIVE product titles, served from {@link ProductTitleIndex}.
+ * The index is loaded once the application is ready and follows product writes after they commit;
+ * writes that land during a rebuild are replayed onto the new index before it is used.
+ */
+@Slf4j
+@Service
+public class ProductSuggestService implements MeterBinder {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepo productRepository;
+
+    private final Object pendingLock = new Object();
+
+    private volatile ProductTitleIndex index = new ProductTitleIndex();
+    /**
+     * Ids changed while a rebuild is scanning, {@code null} when no rebuild is running.
+     */
+    private Set<Integer> pending;
+
+    @Autowired
+    public ProductSuggestService(JdbcTemplate jdbcTemplate, ProductRepo productRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        ProductTitleIndex fresh = new ProductTitleIndex();
+        synchronized (pendingLock) {
+            pending = new HashSet<>();
+        }
+
+        jdbcTemplate.query("select id, title from products where status = 'ACTIVE'",
+                (RowCallbackHandler) rs -> fresh.put(rs.getInt(1), rs.getString(2)));
+
+        // Writes that committed while the scan ran may be missing from its snapshot; re-read them
+        // now that they are visible. Later events see pending == null and go to the fresh index.
+        Set<Integer> replay;
+        synchronized (pendingLock) {
+            replay = pending;
+            pending = null;
+            index = fresh;
+        }
+        if (!replay.isEmpty()) {
+            refresh(replay, fresh);
+        }
+
+        log.info("Product title index built: {} products, {} terms, ~{} KB in {} ms ({} replayed)",
+                fresh.documents(), fresh.terms(), fresh.estimatedBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000, replay.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        onChanged(List.of(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        onChanged(event.productIds());
+    }
+
+    private void onChanged(Collection<Integer> ids) {
+        ProductTitleIndex target;
+        synchronized (pendingLock) {
+            if (pending != null) {
+                pending.addAll(ids);
+            }
+            target = index;
+        }
+        refresh(ids, target);
+    }
+
+    private void refresh(Collection<Integer> ids, ProductTitleIndex target) {
+        Set<Integer> missing = new HashSet<>(ids);
+        for (Product p : productRepository.findAllById(ids)) {
+            missing.remove(p.getId());
+            if ("ACTIVE".equals(p.getStatus())) {
+                target.put(p.getId(), p.getTitle());
+            } else {
+                target.remove(p.getId());
+            }
+        }
+        missing.forEach(target::remove);
+    }
+
+    public List<ProductSuggestionResDto> suggest(String query, int limit) {
+        ProductTitleIndex current = index;
+        int[] ids = current.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+
+        List<ProductSuggestionResDto> res = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            String title = current.title(id);
+            if (title != null) {
+                res.add(new ProductSuggestionResDto((long) id, title));
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.suggest.documents", this, s -> s.index.documents())
+                .register(registry);
+        Gauge.builder("catalog.suggest.terms", this, s -> s.index.terms())
+                .register(registry);
+        Gauge.builder("catalog.suggest.memory", this, s -> s.index.estimatedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
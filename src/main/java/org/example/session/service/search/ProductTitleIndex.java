@@ -0,0 +1,405 @@
+package org.example.session.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over product titles. Terms live in a sorted map so a prefix is a contiguous
+ * range, and every term points to a sorted {@code int[]} of product ids.
+ * <p>
+ * A query matches when every word matches: all but the last word exactly (or, failing that,
+ * within one or two edits), the last word as a prefix. Results are taken from the tail of the
+ * posting arrays, so exact lookups and prefix completions stop after {@code limit} hits and only
+ * multi-word intersections allocate arrays proportional to the candidate set.
+ */
+public class ProductTitleIndex {
+
+    private static final int[] NO_IDS = new int[0];
+    private static final int MAX_EXPANSIONS = 256;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, IntPostings> terms = new TreeMap<>();
+    private final HashMap<Integer, String> titles = new HashMap<>();
+
+    public void put(int id, String title) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (title == null) {
+                return;
+            }
+            titles.put(id, title);
+            for (String term : tokenize(title)) {
+                terms.computeIfAbsent(term, t -> new IntPostings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String title(int id) {
+        lock.readLock().lock();
+        try {
+            return titles.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} matching ids, highest (newest) first
+     */
+    public int[] search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return NO_IDS;
+        }
+
+        lock.readLock().lock();
+        try {
+            Hits current = null;
+            for (int i = 0; i < words.size() - 1; i++) {
+                List<IntPostings> matches = wordMatches(words.get(i));
+                if (matches.isEmpty()) {
+                    return NO_IDS;
+                }
+
+                if (current == null) {
+                    current = union(matches);
+                } else if (current.size < postingsTotal(matches)) {
+                    current = retainPresent(current, matches);
+                } else {
+                    current = intersect(current, union(matches));
+                }
+
+                if (current.size == 0) {
+                    return NO_IDS;
+                }
+            }
+
+            List<IntPostings> last = prefixMatches(words.get(words.size() - 1));
+            if (last.isEmpty()) {
+                return NO_IDS;
+            }
+            return current == null ? topOfUnion(last, limit) : topPresent(current, last, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documents() {
+        lock.readLock().lock();
+        try {
+            return titles.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint (64-bit JVM, compressed oops, Latin-1 strings): map entries, term and title
+     * strings and posting arrays.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map.Entry<String, IntPostings> e : terms.entrySet()) {
+                bytes += 40 + stringBytes(e.getKey()) + 16 + 16 + 4L * e.getValue().capacity();
+            }
+            for (String title : titles.values()) {
+                bytes += 32 + 16 + 8 + stringBytes(title);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void removeLocked(int id) {
+        String old = titles.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String term : tokenize(old)) {
+            IntPostings postings = terms.get(term);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    private List<IntPostings> wordMatches(String word) {
+        IntPostings exact = terms.get(word);
+        if (exact != null) {
+            return List.of(exact);
+        }
+
+        int maxEdits = maxEdits(word.length());
+        List<IntPostings> matches = new ArrayList<>();
+        if (maxEdits == 0) {
+            return matches;
+        }
+
+        for (Map.Entry<String, IntPostings> e : typoCandidates(word).entrySet()) {
+            String term = e.getKey();
+            if (Math.abs(term.length() - word.length()) <= maxEdits
+                    && distance(term, term.length(), word, maxEdits) <= maxEdits) {
+                matches.add(e.getValue());
+                if (matches.size() == MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private List<IntPostings> prefixMatches(String prefix) {
+        List<IntPostings> matches = new ArrayList<>();
+        for (IntPostings postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            matches.add(postings);
+            if (matches.size() == MAX_EXPANSIONS) {
+                return matches;
+            }
+        }
+
+        if (!matches.isEmpty() || prefix.length() < 3) {
+            return matches;
+        }
+
+        // nothing starts with the typed prefix, try prefixes one edit away
+        for (Map.Entry<String, IntPostings> e : typoCandidates(prefix).entrySet()) {
+            String term = e.getKey();
+            int len = Math.min(term.length(), prefix.length());
+            if (term.length() >= prefix.length() - 1 && distance(term, len, prefix, 1) <= 1) {
+                matches.add(e.getValue());
+                if (matches.size() == MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Typo candidates must share the first two characters with the typed word. Mistakes at the very
+     * start are rare and this keeps the scan to a small slice of the dictionary.
+     */
+    private NavigableMap<String, IntPostings> typoCandidates(String word) {
+        String head = word.substring(0, Math.min(2, word.length()));
+        return terms.subMap(head, true, head + Character.MAX_VALUE, false);
+    }
+
+    private static int maxEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance between the first {@code aLen} chars of {@code a} and {@code b},
+     * giving up (returning {@code max + 1}) as soon as every cell in a row exceeds {@code max}.
+     */
+    private static int distance(String a, int aLen, String b, int max) {
+        int bLen = b.length();
+        int[] prev = new int[bLen + 1];
+        int[] curr = new int[bLen + 1];
+        for (int j = 0; j <= bLen; j++) {
+            prev[j] = j;
+        }
+
+        for (int i = 1; i <= aLen; i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= bLen; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[bLen];
+    }
+
+    private static long postingsTotal(List<IntPostings> lists) {
+        long total = 0;
+        for (IntPostings p : lists) {
+            total += p.size();
+        }
+        return total;
+    }
+
+    /**
+     * Highest {@code limit} distinct ids across the lists, walking each one from its tail.
+     */
+    private static int[] topOfUnion(List<IntPostings> lists, int limit) {
+        int[] cursors = new int[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = lists.get(i).size() - 1;
+        }
+
+        int[] out = new int[limit];
+        int n = 0;
+        while (n < limit) {
+            int best = -1;
+            int bestId = Integer.MIN_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] >= 0) {
+                    int id = lists.get(i).array()[cursors[i]];
+                    if (best < 0 || id > bestId) {
+                        best = i;
+                        bestId = id;
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+
+            for (int i = 0; i < cursors.length; i++) {
+                if (cursors[i] >= 0 && lists.get(i).array()[cursors[i]] == bestId) {
+                    cursors[i]--;
+                }
+            }
+            out[n++] = bestId;
+        }
+        return n == limit ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Highest {@code limit} ids of {@code current} that appear in any of the lists.
+     */
+    private static int[] topPresent(Hits current, List<IntPostings> lists, int limit) {
+        int[] out = new int[limit];
+        int n = 0;
+        for (int i = current.size - 1; i >= 0 && n < limit; i--) {
+            int id = current.ids[i];
+            for (IntPostings p : lists) {
+                if (p.contains(id)) {
+                    out[n++] = id;
+                    break;
+                }
+            }
+        }
+        return n == limit ? out : Arrays.copyOf(out, n);
+    }
+
+    private static Hits union(List<IntPostings> lists) {
+        if (lists.size() == 1) {
+            IntPostings only = lists.get(0);
+            return new Hits(only.array(), only.size());
+        }
+
+        int total = (int) postingsTotal(lists);
+        int[] merged = new int[total];
+        int pos = 0;
+        for (IntPostings p : lists) {
+            System.arraycopy(p.array(), 0, merged, pos, p.size());
+            pos += p.size();
+        }
+        Arrays.sort(merged);
+
+        int unique = 0;
+        for (int i = 0; i < total; i++) {
+            if (unique == 0 || merged[unique - 1] != merged[i]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return new Hits(merged, unique);
+    }
+
+    private static Hits intersect(Hits a, Hits b) {
+        int[] out = new int[Math.min(a.size, b.size)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.size && j < b.size) {
+            if (a.ids[i] < b.ids[j]) {
+                i++;
+            } else if (a.ids[i] > b.ids[j]) {
+                j++;
+            } else {
+                out[n++] = a.ids[i];
+                i++;
+                j++;
+            }
+        }
+        return new Hits(out, n);
+    }
+
+    private static Hits retainPresent(Hits current, List<IntPostings> lists) {
+        int[] out = new int[current.size];
+        int n = 0;
+        for (int i = 0; i < current.size; i++) {
+            int id = current.ids[i];
+            for (IntPostings p : lists) {
+                if (p.contains(id)) {
+                    out[n++] = id;
+                    break;
+                }
+            }
+        }
+        return new Hits(out, n);
+    }
+
+    private static long stringBytes(String s) {
+        return 24 + 16 + s.length();
+    }
+
+    private record Hits(int[] ids, int size) {
+    }
+}
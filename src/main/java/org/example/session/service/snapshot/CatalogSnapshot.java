@@ -0,0 +1,338 @@
+package org.example.session.service.snapshot;
+
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.service.catalog.CatalogFilter;
+import org.example.session.service.category.CategoryTree;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, column-oriented copy of the ACTIVE catalog in listing order (created_at DESC, id DESC).
+ * Every column is an array indexed by row, so a page is a contiguous slice and a filter is a scan over
+ * two or three primitive arrays. Titles are interned while building, so repeated titles share one String.
+ * <p>
+ * A snapshot never changes once built. {@link #withChanges} returns a new one and readers keep whichever
+ * instance they started with, so nothing here needs a lock.
+ */
+public final class CatalogSnapshot {
+
+    static final Comparator<Row> LISTING_ORDER = Comparator.comparingLong(Row::createdAt)
+            .thenComparingInt(Row::id)
+            .reversed();
+
+    private final long version;
+    private final Instant asOf;
+    private final int size;
+    private final int[] ids;
+    private final int[] sellerIds;
+    private final int[] categoryIds;
+    private final long[] prices;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final Map<Integer, String> sellerEmails;
+    private final CategoryTree categories;
+
+    private volatile long estimatedBytes = -1;
+
+    private CatalogSnapshot(long version, Instant asOf, Builder b) {
+        this.version = version;
+        this.asOf = asOf;
+        this.size = b.size;
+        this.ids = Arrays.copyOf(b.ids, b.size);
+        this.sellerIds = Arrays.copyOf(b.sellerIds, b.size);
+        this.categoryIds = Arrays.copyOf(b.categoryIds, b.size);
+        this.prices = Arrays.copyOf(b.prices, b.size);
+        this.createdAt = Arrays.copyOf(b.createdAt, b.size);
+        this.updatedAt = Arrays.copyOf(b.updatedAt, b.size);
+        this.titles = Arrays.copyOf(b.titles, b.size);
+        this.descriptions = Arrays.copyOf(b.descriptions, b.size);
+        this.sellerEmails = b.sellerEmails;
+        this.categories = b.categories;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return when the rows of the latest full build or delta were read from the database
+     */
+    public Instant asOf() {
+        return asOf;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Rows matching the filter, skipping {@code offset} and taking at most {@code limit}. The filter's
+     * stock flag and sort are not supported here. Without {@code countAll} the scan stops as soon as
+     * the page and one row past it are found, and the total is -1.
+     */
+    public Window window(CatalogFilter filter, long offset, int limit, boolean countAll) {
+        int[] subtree = null;
+        if (filter.categoryId() != null) {
+            subtree = categories.subtreeIds(filter.categoryId());
+            Arrays.sort(subtree);
+        }
+        long min = filter.minPrice() == null ? Long.MIN_VALUE : filter.minPrice();
+        long max = filter.maxPrice() == null ? Long.MAX_VALUE : filter.maxPrice();
+
+        if (subtree == null && min == Long.MIN_VALUE && max == Long.MAX_VALUE) {
+            int from = (int) Math.min(offset, size);
+            int to = (int) Math.min(size, (long) from + limit);
+            return new Window(rows(from, to), size, to < size);
+        }
+
+        List<ProductResDto> items = new ArrayList<>(Math.min(limit, 64));
+        long end = offset + limit;
+        long matched = 0;
+        for (int i = 0; i < size; i++) {
+            long price = prices[i];
+            if (price < min || price > max
+                    || (subtree != null && Arrays.binarySearch(subtree, categoryIds[i]) < 0)) {
+                continue;
+            }
+            if (matched >= offset && matched < end) {
+                items.add(row(i));
+            }
+            matched++;
+            if (!countAll && matched > end) {
+                break;
+            }
+        }
+        return new Window(items, countAll ? matched : -1, matched > end);
+    }
+
+    /**
+     * @return up to {@code limit} rows strictly after the given position, or from the top when it is null
+     */
+    public List<ProductResDto> after(Instant cursorCreatedAt, Integer cursorId, int limit) {
+        int from = 0;
+        if (cursorCreatedAt != null) {
+            long at = toMicros(cursorCreatedAt);
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (createdAt[mid] > at || (createdAt[mid] == at && ids[mid] >= cursorId)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            from = lo;
+        }
+        return rows(from, (int) Math.min(size, (long) from + limit));
+    }
+
+    /**
+     * A new snapshot with every row in {@code touched} dropped and {@code upserts} (ACTIVE rows only)
+     * merged in at their listing positions. Costs one pass over the columns.
+     */
+    CatalogSnapshot withChanges(long version, Instant asOf, Collection<Integer> touched,
+                                List<Row> upserts, CategoryTree categories) {
+        int[] drop = touched.stream().mapToInt(Integer::intValue).sorted().toArray();
+        Row[] added = upserts.toArray(new Row[0]);
+        Arrays.sort(added, LISTING_ORDER);
+
+        Builder b = new Builder(size + added.length, sellerEmails, categories);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < added.length) {
+            if (i < size && Arrays.binarySearch(drop, ids[i]) >= 0) {
+                i++;
+            } else if (j == added.length || (i < size && before(i, added[j]))) {
+                b.copy(this, i++);
+            } else {
+                b.add(added[j++]);
+            }
+        }
+        return b.build(version, asOf);
+    }
+
+    /**
+     * Rough heap footprint (64-bit JVM, compressed oops, Latin-1 strings): the columns, distinct strings
+     * and the seller dictionary. Computed once per snapshot, on first use.
+     */
+    public long estimatedBytes() {
+        long bytes = estimatedBytes;
+        if (bytes >= 0) {
+            return bytes;
+        }
+
+        bytes = 3 * (16 + 4L * size) + 3 * (16 + 8L * size) + 2 * (16 + 4L * size);
+        Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < size; i++) {
+            if (seen.add(titles[i])) {
+                bytes += stringBytes(titles[i]);
+            }
+            if (descriptions[i] != null) {
+                bytes += stringBytes(descriptions[i]);
+            }
+        }
+        for (String email : sellerEmails.values()) {
+            bytes += 32 + 16 + stringBytes(email);
+        }
+        estimatedBytes = bytes;
+        return bytes;
+    }
+
+    static Builder builder(int expectedSize, CategoryTree categories) {
+        return new Builder(expectedSize, Map.of(), categories);
+    }
+
+    static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1_000L);
+    }
+
+    private boolean before(int i, Row row) {
+        return createdAt[i] > row.createdAt() || (createdAt[i] == row.createdAt() && ids[i] > row.id());
+    }
+
+    private List<ProductResDto> rows(int from, int to) {
+        List<ProductResDto> res = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            res.add(row(i));
+        }
+        return res;
+    }
+
+    private ProductResDto row(int i) {
+        return new ProductResDto(
+                (long) ids[i],
+                (long) sellerIds[i],
+                sellerEmails.get(sellerIds[i]),
+                (long) categoryIds[i],
+                categories.name(categoryIds[i]),
+                titles[i],
+                descriptions[i],
+                prices[i],
+                "ACTIVE",
+                fromMicros(createdAt[i]),
+                fromMicros(updatedAt[i]));
+    }
+
+    private static long stringBytes(String s) {
+        return 24 + 16 + s.length();
+    }
+
+    public record Window(List<ProductResDto> items, long total, boolean hasNext) {
+    }
+
+    /**
+     * One ACTIVE product as read from the database, timestamps in epoch microseconds.
+     */
+    record Row(int id, int sellerId, String sellerEmail, int categoryId, long price,
+               String title, String description, long createdAt, long updatedAt) {
+    }
+
+    static final class Builder {
+
+        private final Map<String, String> interned = new HashMap<>();
+        private final Map<Integer, String> baseEmails;
+        private Map<Integer, String> sellerEmails;
+        private final CategoryTree categories;
+
+        private int size;
+        private int[] ids;
+        private int[] sellerIds;
+        private int[] categoryIds;
+        private long[] prices;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private String[] titles;
+        private String[] descriptions;
+
+        private Builder(int expectedSize, Map<Integer, String> sellerEmails, CategoryTree categories) {
+            int capacity = Math.max(expectedSize, 16);
+            this.ids = new int[capacity];
+            this.sellerIds = new int[capacity];
+            this.categoryIds = new int[capacity];
+            this.prices = new long[capacity];
+            this.createdAt = new long[capacity];
+            this.updatedAt = new long[capacity];
+            this.titles = new String[capacity];
+            this.descriptions = new String[capacity];
+            this.baseEmails = sellerEmails;
+            this.sellerEmails = sellerEmails;
+            this.categories = categories;
+        }
+
+        /**
+         * Rows must arrive in listing order.
+         */
+        void add(Row row) {
+            if (size > 0 && (createdAt[size - 1] < row.createdAt()
+                    || (createdAt[size - 1] == row.createdAt() && ids[size - 1] <= row.id()))) {
+                throw new IllegalStateException("Rows out of listing order at product " + row.id());
+            }
+            ensureCapacity();
+            ids[size] = row.id();
+            sellerIds[size] = row.sellerId();
+            categoryIds[size] = row.categoryId();
+            prices[size] = row.price();
+            createdAt[size] = row.createdAt();
+            updatedAt[size] = row.updatedAt();
+            titles[size] = interned.computeIfAbsent(row.title(), t -> t);
+            descriptions[size] = row.description();
+            size++;
+
+            if (!row.sellerEmail().equals(sellerEmails.get(row.sellerId()))) {
+                if (sellerEmails == baseEmails) {
+                    sellerEmails = new HashMap<>(baseEmails);
+                }
+                sellerEmails.put(row.sellerId(), row.sellerEmail());
+            }
+        }
+
+        private void copy(CatalogSnapshot from, int i) {
+            ensureCapacity();
+            ids[size] = from.ids[i];
+            sellerIds[size] = from.sellerIds[i];
+            categoryIds[size] = from.categoryIds[i];
+            prices[size] = from.prices[i];
+            createdAt[size] = from.createdAt[i];
+            updatedAt[size] = from.updatedAt[i];
+            titles[size] = from.titles[i];
+            descriptions[size] = from.descriptions[i];
+            size++;
+        }
+
+        CatalogSnapshot build(long version, Instant asOf) {
+            return new CatalogSnapshot(version, asOf, this);
+        }
+
+        private void ensureCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            sellerIds = Arrays.copyOf(sellerIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.session.service.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.session.service.category.CategoryTree;
+import org.example.session.service.category.CategoryTreeService;
+import org.example.session.service.event.ProductChangedEvent;
+import org.example.session.service.event.ProductsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a {@link CatalogSnapshot} of ACTIVE products so public listing pages never touch the database.
+ * <p>
+ * The snapshot is loaded in full once the application is ready and then on a long interval to repair any
+ * drift. In between, product writes mark their ids dirty after commit and a short scheduled pass re-reads
+ * just those rows and swaps in a merged copy. Readers take the current reference and need no lock.
+ * <p>
+ * Staleness is bounded: when the oldest unapplied change is older than {@code max-staleness} (the applier
+ * is stuck or the database is unreachable) {@link #current()} returns null and callers fall back to SQL.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService implements MeterBinder {
+
+    private static final int MAX_DELTA = 5000;
+
+    private static final String SELECT = """
+            select p.product_id as id, p.seller_id, p.seller_email as email, p.category_id, p.title,
+                   p.description, p.price, p.created_at, p.updated_at
+            from product_listing p
+            where p.status = 'ACTIVE'
+            """;
+
+    private static final RowMapper<CatalogSnapshot.Row> ROW = (rs, n) -> new CatalogSnapshot.Row(
+            rs.getInt("id"),
+            rs.getInt("seller_id"),
+            rs.getString("email"),
+            rs.getInt("category_id"),
+            rs.getLong("price"),
+            rs.getString("title"),
+            rs.getString("description"),
+            CatalogSnapshot.toMicros(rs.getTimestamp("created_at").toInstant()),
+            CatalogSnapshot.toMicros(rs.getTimestamp("updated_at").toInstant()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final CategoryTreeService categoryTreeService;
+    private final boolean enabled;
+    private final Duration maxStaleness;
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final Map<Integer, Long> pending = new ConcurrentHashMap<>();
+    /**
+     * {@code nanoTime} of the oldest entry in {@link #pending}, {@link #NONE} when it is empty, so
+     * {@link #current()} can check staleness without walking the map.
+     */
+    private final AtomicLong oldestPending = new AtomicLong(NONE);
+    private final Object writeLock = new Object();
+
+    private volatile CatalogSnapshot snapshot;
+
+    @Autowired
+    public CatalogSnapshotService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  CategoryTreeService categoryTreeService,
+                                  @Value("${app.catalog.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${app.catalog.snapshot.max-staleness:30s}") Duration maxStaleness,
+                                  @Value("${app.catalog.snapshot.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.categoryTreeService = categoryTreeService;
+        this.enabled = enabled;
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * @return the snapshot to serve from, or null when it is disabled, not loaded yet or too stale
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot s = snapshot;
+        if (s == null || stalenessMillis() > maxStaleness.toMillis()) {
+            return null;
+        }
+        return s;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.rebuild-interval:15m}",
+            initialDelayString = "${app.catalog.snapshot.rebuild-interval:15m}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            Instant asOf = Instant.now();
+            CategoryTree categories = categoryTreeService.reload();
+
+            CatalogSnapshot fresh = readOnly.execute(status -> {
+                CatalogSnapshot.Builder builder = CatalogSnapshot.builder(
+                        snapshot == null ? 1024 : snapshot.size(), categories);
+                jdbcTemplate.query(SELECT + " order by p.created_at desc, p.product_id desc",
+                        (RowCallbackHandler) rs -> builder.add(ROW.mapRow(rs, 0)));
+                return builder.build(nextVersion(), asOf);
+            });
+            snapshot = fresh;
+
+            log.info("Catalog snapshot v{} built: {} products, ~{} KB in {} ms",
+                    fresh.version(), fresh.size(), fresh.estimatedBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Re-reads the products changed since the last pass and swaps in a merged snapshot.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.refresh-interval:1s}")
+    public void applyPending() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            CatalogSnapshot base = snapshot;
+            if (base == null) {
+                return;
+            }
+
+            // ids leave the pending set before their rows are read, so a write landing after
+            // the read marks them dirty again instead of being lost
+            Map<Integer, Long> drained = new HashMap<>();
+            Iterator<Integer> it = pending.keySet().iterator();
+            while (it.hasNext() && drained.size() < MAX_DELTA) {
+                Integer id = it.next();
+                Long seen = pending.remove(id);
+                if (seen != null) {
+                    drained.put(id, seen);
+                }
+            }
+            List<Integer> ids = new ArrayList<>(drained.keySet());
+            recomputeOldestPending();
+
+            Instant asOf = Instant.now();
+            try {
+                List<CatalogSnapshot.Row> rows = jdbcTemplate.query(SELECT + " and p.product_id = any(?)", ROW,
+                        (Object) ids.toArray(new Integer[0]));
+                snapshot = base.withChanges(nextVersion(), asOf, ids, rows, categoriesFor(rows));
+            } catch (RuntimeException e) {
+                drained.forEach((id, seen) -> {
+                    pending.merge(id, seen, Math::min);
+                    oldestPending.accumulateAndGet(seen, Math::min);
+                });
+                throw e;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (enabled) {
+            markPending(event.productId(), System.nanoTime());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (enabled) {
+            long now = System.nanoTime();
+            event.productIds().forEach(id -> markPending(id, now));
+        }
+    }
+
+    public int pendingChanges() {
+        return pending.size();
+    }
+
+    /**
+     * @return age of the oldest change not yet visible in the snapshot, 0 when it is up to date
+     */
+    public long stalenessMillis() {
+        long oldest = oldestPending.get();
+        return oldest == NONE ? 0 : Math.max(0, (System.nanoTime() - oldest) / 1_000_000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.version", this, s -> s.snapshot == null ? 0 : s.snapshot.version())
+                .register(registry);
+        Gauge.builder("catalog.snapshot.products", this, s -> s.snapshot == null ? 0 : s.snapshot.size())
+                .register(registry);
+        Gauge.builder("catalog.snapshot.memory", this, s -> s.snapshot == null ? 0 : s.snapshot.estimatedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("catalog.snapshot.pending", this, CatalogSnapshotService::pendingChanges)
+                .register(registry);
+        Gauge.builder("catalog.snapshot.staleness", this, CatalogSnapshotService::stalenessMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * The current category tree, reloaded first if a changed product points at a category it has not
+     * seen yet (created on another instance since the last check).
+     */
+    private CategoryTree categoriesFor(List<CatalogSnapshot.Row> rows) {
+        CategoryTree categories = categoryTreeService.current();
+        for (CatalogSnapshot.Row row : rows) {
+            if (categories.name(row.categoryId()) == null) {
+                return categoryTreeService.reload();
+            }
+        }
+        return categories;
+    }
+
+    private void markPending(Integer id, long now) {
+        pending.putIfAbsent(id, now);
+        oldestPending.accumulateAndGet(now, Math::min);
+    }
+
+    /**
+     * Called by the applier after draining. The reset comes first: a change added concurrently is either
+     * already in the map when it is scanned or lowers the minimum itself afterwards.
+     */
+    private void recomputeOldestPending() {
+        oldestPending.set(NONE);
+        for (Long seen : pending.values()) {
+            oldestPending.accumulateAndGet(seen, Math::min);
+        }
+    }
+
+    private long nextVersion() {
+        CatalogSnapshot s = snapshot;
+        return s == null ? 1 : s.version() + 1;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.session.service.version;
+
+import java.time.Instant;
+
+/**
+ * Validators for a resource representation: a strong ETag and the Last-Modified time in epoch millis
+ * ({@code -1} when unknown).
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * ETag built from the resource kind, its key and the full-precision {@code updatedAt}, so two
+     * writes within the same second still produce different tags.
+     */
+    public static ResourceVersion of(String kind, Object key, Instant updatedAt) {
+        if (updatedAt == null) {
+            return new ResourceVersion("\"" + kind + "-" + key + "\"", -1);
+        }
+
+        String tag = kind + "-" + key + "-"
+                + Long.toHexString(updatedAt.getEpochSecond()) + "." + Integer.toHexString(updatedAt.getNano());
+        return new ResourceVersion("\"" + tag + "\"", updatedAt.toEpochMilli());
+    }
+}
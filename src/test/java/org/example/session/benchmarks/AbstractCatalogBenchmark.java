@@ -0,0 +1,94 @@
+package org.example.session.benchmarks;
+
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Role;
+import org.example.session.db.entity.User;
+import org.example.session.db.repositoty.CategoryRepo;
+import org.example.session.db.repositoty.RoleRepo;
+import org.example.session.db.repositoty.UserRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Seller, category and latency reporting shared by the benchmarks that seed products into the test database.
+ */
+public abstract class AbstractCatalogBenchmark {
+
+    protected static final int SAMPLES = 15;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    protected User createSeller() {
+        Role role = roleRepo.findByName("SELLER").orElseGet(() -> {
+            Role r = new Role();
+            r.setName("SELLER");
+            return roleRepo.save(r);
+        });
+
+        User u = new User();
+        u.setEmail("bench_" + UUID.randomUUID() + "@mail.com");
+        u.setFullName("Benchmark Seller");
+        u.setPasswordHash("{noop}unused");
+        u.setStatus("ACTIVE");
+        u.setRole(role);
+        u.setCreatedAt(Instant.now());
+        u.setUpdatedAt(Instant.now());
+        return userRepo.save(u);
+    }
+
+    protected Category createCategory() {
+        Category c = new Category();
+        c.setName("Bench " + UUID.randomUUID());
+        c.setCreatedAt(Instant.now());
+        return categoryRepo.save(c);
+    }
+
+    /**
+     * Removes the seller's products, then the category and the seller themselves.
+     */
+    protected void deleteSeeded(User seller, Category category) {
+        jdbcTemplate.update("delete from products where seller_id = ?", seller.getId());
+        categoryRepo.delete(category);
+        userRepo.delete(seller);
+    }
+
+    protected void printHeader(String title) {
+        System.out.printf("%-32s %10s %10s%n", title, "p50 ms", "p95 ms");
+    }
+
+    /**
+     * Runs {@code call} three times to warm up, then {@link #SAMPLES} times, and prints p50 and p95.
+     */
+    protected void report(String label, Callable<?> call) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            call.call();
+        }
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            call.call();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        System.out.printf("%-32s %10.2f %10.2f%n", label,
+                samples[SAMPLES / 2] / 1_000_000.0,
+                samples[(int) (SAMPLES * 0.95) - 1] / 1_000_000.0);
+    }
+}
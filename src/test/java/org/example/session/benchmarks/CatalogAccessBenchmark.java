@@ -0,0 +1,114 @@
+package org.example.session.benchmarks;
+
+import org.example.session.db.entity.Role;
+import org.example.session.db.entity.User;
+import org.example.session.db.repositoty.RoleRepo;
+import org.example.session.db.repositoty.UserRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares GET /api/products through the old setup (main chain only, Basic auth on every call)
+ * with the anonymous catalog chain. The credential cache and throttles are off so the "before"
+ * column pays the full BCrypt + user lookup it used to.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.security.credential-cache.enabled=false",
+        "app.security.login-throttle.enabled=false",
+        "app.security.catalog-throttle.enabled=false"
+})
+@ActiveProfiles("test")
+public class CatalogAccessBenchmark {
+
+    private static final long WINDOW_MS = 3_000;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Test
+    public void compareAuthenticatedAndAnonymousCatalogReads() throws Exception {
+        String email = "bench_" + UUID.randomUUID() + "@mail.com";
+        createBuyer(email, "secret");
+        String basic = "Basic " + Base64.getEncoder()
+                .encodeToString((email + ":secret").getBytes(StandardCharsets.UTF_8));
+
+        SecurityFilterChain mainChain = context.getBean("filterChain", SecurityFilterChain.class);
+        SecurityFilterChain catalogChain = context.getBean("catalogFilterChain", SecurityFilterChain.class);
+
+        MockMvc before = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new FilterChainProxy(mainChain))
+                .build();
+        MockMvc after = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new FilterChainProxy(List.of(catalogChain, mainChain)))
+                .build();
+
+        double authenticated = throughput(before, get("/api/products").header("Authorization", basic));
+        double anonymous = throughput(after, get("/api/products"));
+
+        System.out.printf("%-28s %12s%n", "GET /api/products", "req/s");
+        System.out.printf("%-28s %12.1f%n", "basic auth (before)", authenticated);
+        System.out.printf("%-28s %12.1f%n", "anonymous chain (after)", anonymous);
+    }
+
+    private double throughput(MockMvc mvc, MockHttpServletRequestBuilder request) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mvc.perform(request).andExpect(status().isOk());
+        }
+
+        long count = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+        while (System.nanoTime() < deadline) {
+            mvc.perform(request).andExpect(status().isOk());
+            count++;
+        }
+        return count * 1000.0 / WINDOW_MS;
+    }
+
+    private void createBuyer(String email, String rawPassword) {
+        Role buyer = roleRepo.findByName("BUYER").orElseGet(() -> {
+            Role role = new Role();
+            role.setName("BUYER");
+            return roleRepo.save(role);
+        });
+
+        User u = new User();
+        u.setEmail(email);
+        u.setFullName("Benchmark Buyer");
+        u.setStatus("ACTIVE");
+        u.setRole(buyer);
+        u.setCreatedAt(Instant.now());
+        u.setUpdatedAt(Instant.now());
+        u.setPasswordHash(encoder.encode(rawPassword));
+        userRepo.save(u);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.session.benchmarks;
+
+import org.example.session.security.hash.PasswordCostProfiles;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Tag("benchmark")
+public class PasswordProfileBenchmark {
+
+    private static final String PASSWORD = "benchmark-Pa55word!";
+    private static final int LATENCY_SAMPLES = 10;
+    private static final long THROUGHPUT_WINDOW_MS = 2_000;
+
+    @Test
+    public void compareLoginCostAcrossProfiles() throws Exception {
+        int maxStrength = Integer.getInteger("benchmark.maxStrength", 12);
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-10s %12s %12s %16s%n", "profile", "p50 ms", "p95 ms", "logins/s (" + threads + "t)");
+
+        for (int strength = PasswordCostProfiles.MIN_STRENGTH; strength <= maxStrength; strength++) {
+            String profile = PasswordCostProfiles.profileOf(strength);
+            PasswordEncoder encoder = PasswordCostProfiles.delegating(profile);
+            String hash = encoder.encode(PASSWORD);
+
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertTrue(encoder.matches(PASSWORD, hash));
+            }
+
+            long[] samples = new long[LATENCY_SAMPLES];
+            for (int i = 0; i < LATENCY_SAMPLES; i++) {
+                long start = System.nanoTime();
+                encoder.matches(PASSWORD, hash);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+
+            double throughput = throughput(encoder, hash, threads);
+
+            System.out.printf("%-10s %12.2f %12.2f %16.1f%n",
+                    profile,
+                    samples[LATENCY_SAMPLES / 2] / 1_000_000.0,
+                    samples[(int) (LATENCY_SAMPLES * 0.95) - 1] / 1_000_000.0,
+                    throughput);
+        }
+    }
+
+    private double throughput(PasswordEncoder encoder, String hash, int threads) throws Exception {
+        LongAdder done = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(THROUGHPUT_WINDOW_MS);
+
+        try {
+            Future<?>[] workers = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        encoder.matches(PASSWORD, hash);
+                        done.increment();
+                    }
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return done.sum() * 1000.0 / THROUGHPUT_WINDOW_MS;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.session.benchmarks;
+
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.User;
+import org.example.session.service.exporting.ExportFormat;
+import org.example.session.service.exporting.ProductExportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds 1M products (-Dbenchmark.products=10000000 for the 10M case) and exports them into a
+ * byte-counting sink, sampling peak heap use while the export runs. Seeded rows are removed afterwards.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductExportBenchmark extends AbstractCatalogBenchmark {
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Test
+    public void exportWithFlatHeap() throws Exception {
+        int rows = Integer.getInteger("benchmark.products", 1_000_000);
+
+        User seller = createSeller();
+        Category category = createCategory();
+        try {
+            jdbcTemplate.update("""
+                    insert into products (seller_id, category_id, title, description, price, status, created_at, updated_at)
+                    select ?, ?, 'export item ' || g, md5(g::text), 100 + g % 1000, 'ACTIVE', now(), now()
+                    from generate_series(1, ?) g
+                    """, seller.getId(), category.getId(), rows);
+
+            for (ExportFormat format : ExportFormat.values()) {
+                MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+                System.gc();
+                long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+                AtomicLong peak = new AtomicLong(heapBefore);
+                AtomicBoolean running = new AtomicBoolean(true);
+                Thread sampler = new Thread(() -> {
+                    while (running.get()) {
+                        peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                });
+                sampler.start();
+
+                CountingSink sink = new CountingSink();
+                long start = System.nanoTime();
+                long written = exportService.export(seller.getId(), format, sink);
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                running.set(false);
+                sampler.join();
+
+                System.out.printf("%-7s rows=%d bytes=%.1f MB elapsed=%d ms throughput=%.0f rows/s peak heap growth=%.1f MB%n",
+                        format, written, sink.bytes / 1048576.0, elapsedMs, written * 1000.0 / Math.max(elapsedMs, 1),
+                        (peak.get() - heapBefore) / 1048576.0);
+                Assertions.assertEquals(rows, written);
+            }
+        } finally {
+            deleteSeeded(seller, category);
+        }
+    }
+
+    private static class CountingSink extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.session.benchmarks;
+
+import org.example.session.data.dtos.response.product.ProductImportResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.User;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.importing.ImportFormat;
+import org.example.session.service.importing.ProductImportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams a generated CSV of 200k rows (-Dbenchmark.products to change) through the importer and
+ * reports throughput and heap growth. The upload is produced on the fly, so the file itself
+ * never sits in memory. Imported rows are removed afterwards.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductImportBenchmark extends AbstractCatalogBenchmark {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Test
+    public void importThroughput() throws Exception {
+        int rows = Integer.getInteger("benchmark.products", 200_000);
+
+        User seller = createSeller();
+        Category category = createCategory();
+        try {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+            ProductImportResDto report = importService.importProducts(new UserServiceImpl(seller),
+                    new GeneratedCsv(category.getId(), rows), ImportFormat.CSV);
+
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("rows=%d imported=%d failed=%d elapsed=%d ms throughput=%.0f rows/s heap delta=%.1f MB%n",
+                    report.getRowsRead(), report.getImported(), report.getFailed(), report.getElapsedMs(),
+                    report.getRowsPerSecond(), (heapAfter - heapBefore) / 1048576.0);
+
+            Assertions.assertEquals(rows, report.getImported());
+        } finally {
+            deleteSeeded(seller, category);
+        }
+    }
+
+    /**
+     * CSV upload generated row by row as it is read.
+     */
+    private static class GeneratedCsv extends InputStream {
+        private final int categoryId;
+        private final int rows;
+        private int next = 0;
+        private byte[] current = "category_id,title,description,price,quantity\n".getBytes(StandardCharsets.UTF_8);
+        private int pos = 0;
+
+        private GeneratedCsv(int categoryId, int rows) {
+            this.categoryId = categoryId;
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (pos == current.length) {
+                if (next == rows) {
+                    return -1;
+                }
+                next++;
+                current = (categoryId + ",Imported item " + next + ",\"Generated, row " + next + "\","
+                        + (100 + next % 1000) + "," + (next % 50) + "\n").getBytes(StandardCharsets.UTF_8);
+                pos = 0;
+            }
+            return current[pos++] & 0xff;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.session.benchmarks;
+
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.User;
+import org.example.session.service.ProductService;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.CursorPage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Seeds ACTIVE products and compares OFFSET paging with the keyset cursor at page 1 and deep pages.
+ * Seeded rows are removed afterwards.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductKeysetBenchmark extends AbstractCatalogBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    public void compareOffsetAndKeysetAtDepth() throws Exception {
+        int rows = Integer.getInteger("benchmark.products", 120_000);
+        int deepPage = Math.min(5_000, rows / PAGE_SIZE - 1);
+
+        User seller = createSeller();
+        Category category = createCategory();
+        try {
+            jdbcTemplate.update("""
+                    insert into products (seller_id, category_id, title, price, status, created_at, updated_at)
+                    select ?, ?, 'bench ' || g, 100, 'ACTIVE', now() - g * interval '1 second', now()
+                    from generate_series(1, ?) g
+                    """, seller.getId(), category.getId(), rows);
+            jdbcTemplate.execute("analyze products");
+
+            String deepCursor = cursorAt(deepPage);
+
+            printHeader("products=" + rows);
+            report("offset page 1", () -> productService.listPublic(0, PAGE_SIZE, CountMode.EXACT));
+            report("offset page " + deepPage, () -> productService.listPublic(deepPage, PAGE_SIZE, CountMode.EXACT));
+            report("keyset page 1", () -> productService.listPublicAfter("", PAGE_SIZE));
+            report("keyset page " + deepPage, () -> productService.listPublicAfter(deepCursor, PAGE_SIZE));
+        } finally {
+            deleteSeeded(seller, category);
+        }
+    }
+
+    private String cursorAt(int page) {
+        String cursor = "";
+        for (int i = 0; i < page; i++) {
+            CursorPage<?> next = productService.listPublicAfter(cursor, PAGE_SIZE);
+            cursor = next.nextCursor();
+        }
+        return cursor;
+    }
+}
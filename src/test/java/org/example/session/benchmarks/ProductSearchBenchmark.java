@@ -0,0 +1,62 @@
+package org.example.session.benchmarks;
+
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.User;
+import org.example.session.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Seeds 1M ACTIVE products (override with -Dbenchmark.products) built from a small vocabulary
+ * and reports search latency for selective, broad and deep-page queries. Run against the
+ * test-db service from docker-compose.yml; seeded rows are removed afterwards.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductSearchBenchmark extends AbstractCatalogBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    public void searchLatencyOnLargeCatalog() throws Exception {
+        int rows = Integer.getInteger("benchmark.products", 1_000_000);
+
+        User seller = createSeller();
+        Category category = createCategory();
+        try {
+            jdbcTemplate.update("""
+                    insert into products (seller_id, category_id, title, description, price, status, created_at, updated_at)
+                    select ?, ?,
+                           (array['red','blue','green','black','white'])[1 + g % 5] || ' ' ||
+                           (array['running','trail','leather','winter','kids','sport','classic'])[1 + g % 7] || ' ' ||
+                           (array['shoes','jacket','socks','backpack','watch','gloves','hat','boots','scarf','bottle'])[1 + g % 10],
+                           'item ' || g || ' ' || md5(g::text),
+                           100 + g % 1000, 'ACTIVE', now(), now()
+                    from generate_series(1, ?) g
+                    """, seller.getId(), category.getId(), rows);
+            jdbcTemplate.execute("analyze products");
+
+            printHeader("products=" + rows);
+            report("selective: red trail watch", () -> productService.search("red trail watch", null, null, PAGE_SIZE));
+            report("broad: shoes", () -> productService.search("shoes", null, null, PAGE_SIZE));
+            report("broad + category: shoes", () -> productService.search("shoes", category.getId(), null, PAGE_SIZE));
+            report("phrase: \"winter boots\"", () -> productService.search("\"winter boots\"", null, null, PAGE_SIZE));
+
+            String cursor = null;
+            for (int i = 0; i < 50; i++) {
+                cursor = productService.search("shoes", null, cursor, PAGE_SIZE).nextCursor();
+            }
+            String deepCursor = cursor;
+            report("broad: shoes, page 51", () -> productService.search("shoes", null, deepCursor, PAGE_SIZE));
+        } finally {
+            deleteSeeded(seller, category);
+        }
+    }
+}
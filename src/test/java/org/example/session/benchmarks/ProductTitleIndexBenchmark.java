@@ -0,0 +1,77 @@
+package org.example.session.benchmarks;
+
+import org.example.session.service.search.ProductTitleIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Builds the title index over synthetic products (1M by default, -Dbenchmark.products to change)
+ * and reports memory, per-query latency and bytes allocated per query. No database needed.
+ */
+@Tag("benchmark")
+public class ProductTitleIndexBenchmark {
+
+    private static final String[] BRANDS = {"apple", "samsung", "xiaomi", "sony", "lenovo", "asus", "nike", "adidas",
+            "puma", "lego", "philips", "bosch", "dyson", "canon", "nikon", "garmin"};
+    private static final String[] KINDS = {"phone", "laptop", "tablet", "headphones", "watch", "camera", "sneakers",
+            "jacket", "backpack", "charger", "case", "speaker", "monitor", "keyboard", "mouse", "vacuum"};
+    private static final String[] TRAITS = {"pro", "max", "mini", "ultra", "lite", "wireless", "black", "white",
+            "silver", "2024", "2025", "edition", "plus", "sport", "classic", "compact"};
+
+    private static final String[] QUERIES = {"sam", "samsung ph", "apple watch ul", "wireles", "samsnug phone",
+            "lego", "nike sneakers bl", "dyson vacuum", "headphone", "canon camera pro"};
+
+    @Test
+    public void memoryAndLatency() {
+        int products = Integer.getInteger("benchmark.products", 1_000_000);
+        Random random = new Random(42);
+
+        ProductTitleIndex index = new ProductTitleIndex();
+        long buildStart = System.nanoTime();
+        for (int id = 1; id <= products; id++) {
+            index.put(id, BRANDS[random.nextInt(BRANDS.length)] + " "
+                    + KINDS[random.nextInt(KINDS.length)] + " "
+                    + TRAITS[random.nextInt(TRAITS.length)] + " "
+                    + "sku" + Integer.toString(id, 36));
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        long bytes = index.estimatedBytes();
+        System.out.printf("products=%d terms=%d build=%d ms estimated=%.1f MB (%.1f MB per million)%n",
+                index.documents(), index.terms(), buildMs,
+                bytes / 1048576.0, bytes / 1048576.0 * 1_000_000 / products);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        System.out.printf("%-20s %10s %10s %12s%n", "query", "p50 us", "p99 us", "bytes/query");
+        for (String query : QUERIES) {
+            for (int i = 0; i < 2_000; i++) {
+                index.search(query, 10);
+            }
+
+            int rounds = 5_000;
+            long[] samples = new long[rounds];
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < rounds; i++) {
+                long start = System.nanoTime();
+                index.search(query, 10);
+                samples[i] = System.nanoTime() - start;
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            Arrays.sort(samples);
+
+            System.out.printf("%-20s %10.1f %10.1f %12d%n", query,
+                    samples[rounds / 2] / 1_000.0,
+                    samples[(int) (rounds * 0.99)] / 1_000.0,
+                    allocated / rounds);
+        }
+
+        Assertions.assertTrue(index.search("samsung ph", 10).length > 0);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.session.controllers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.catalog-throttle.enabled=false")
+@ActiveProfiles("test")
+public class CatalogSecurityTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setup() {
+        SecurityFilterChain mainChain = context.getBean("filterChain", SecurityFilterChain.class);
+        SecurityFilterChain catalogChain = context.getBean("catalogFilterChain", SecurityFilterChain.class);
+
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new FilterChainProxy(List.of(catalogChain, mainChain)))
+                .build();
+    }
+
+    @Test
+    public void anonymousCatalogGet_shouldSucceed_withoutSession() throws Exception {
+        for (String path : List.of("/api/products", "/api/categories", "/api/categories/tree")) {
+            MvcResult result = mvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE))
+                    .andExpect(header().doesNotExist(HttpHeaders.WWW_AUTHENTICATE))
+                    .andReturn();
+
+            Assertions.assertNull(result.getRequest().getSession(false), path);
+        }
+    }
+
+    @Test
+    public void catalogGet_shouldIgnoreCredentials() throws Exception {
+        MvcResult result = mvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Basic bm9ib2R5Om5vcGU="))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE))
+                .andReturn();
+
+        Assertions.assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    public void protectedRoutes_shouldStillRequireAuthentication() throws Exception {
+        mvc.perform(get("/api/auth/me")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/buyer/orders/1")).andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/buyer/cart/items")).andExpect(status().isUnauthorized());
+        mvc.perform(delete("/api/seller/products/1")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/admin/products/export")).andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/products")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void invalidBearerToken_shouldOnlyMatterOnProtectedRoutes() throws Exception {
+        String bearer = "Bearer not-a-token";
+
+        MvcResult health = mvc.perform(get("/actuator/health").header(HttpHeaders.AUTHORIZATION, bearer)).andReturn();
+        Assertions.assertNotEquals(401, health.getResponse().getStatus());
+
+        mvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.session.controllers;
+
+import org.example.session.data.dtos.request.CategoryDto;
+import org.example.session.service.CategoryService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.catalog-throttle.enabled=false")
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    private static final String TREE = "/api/categories/tree";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setup() {
+        SecurityFilterChain mainChain = context.getBean("filterChain", SecurityFilterChain.class);
+        SecurityFilterChain catalogChain = context.getBean("catalogFilterChain", SecurityFilterChain.class);
+
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new FilterChainProxy(List.of(catalogChain, mainChain)))
+                .build();
+
+        CategoryDto dto = new CategoryDto();
+        dto.setName("Conditional " + UUID.randomUUID());
+        categoryService.create(dto);
+    }
+
+    @Test
+    public void get_shouldSendValidators_andCacheControl() throws Exception {
+        MvcResult result = mvc.perform(get(TREE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+
+        Assertions.assertEquals(categoryService.tree().version().etag(),
+                result.getResponse().getHeader(HttpHeaders.ETAG));
+        Assertions.assertTrue(result.getResponse().getContentAsByteArray().length > 0);
+    }
+
+    @Test
+    public void get_shouldAnswer304_whenIfNoneMatchMatches() throws Exception {
+        String etag = mvc.perform(get(TREE)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get(TREE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        mvc.perform(get(TREE).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void get_shouldAnswer304_whenNotModifiedSince() throws Exception {
+        String lastModified = mvc.perform(get(TREE)).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mvc.perform(get(TREE).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mvc.perform(get(TREE).header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 1970 00:00:00 GMT"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void get_shouldServeNewBody_afterResourceChanges() throws Exception {
+        String etag = mvc.perform(get(TREE)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        CategoryDto dto = new CategoryDto();
+        dto.setName("Conditional " + UUID.randomUUID());
+        categoryService.create(dto);
+
+        MvcResult result = mvc.perform(get(TREE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        Assertions.assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
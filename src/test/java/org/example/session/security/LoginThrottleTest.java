@@ -0,0 +1,58 @@
+package org.example.session.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.session.security.throttle.LoginThrottle;
+import org.example.session.security.throttle.LoginThrottledException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LoginThrottleTest {
+
+    @Test
+    public void check_shouldNotSpendAddressBudget_whenAccountIsThrottled() {
+        LoginThrottle throttle = new LoginThrottle(true, 1, 1, 1, 3, 1000);
+
+        throttle.check("locked@mail.com", "10.0.0.1");
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThrows(LoginThrottledException.class,
+                    () -> throttle.check("LOCKED@mail.com", "10.0.0.1"));
+        }
+
+        throttle.check("other1@mail.com", "10.0.0.1");
+        throttle.check("other2@mail.com", "10.0.0.1");
+        Assertions.assertThrows(LoginThrottledException.class,
+                () -> throttle.check("other3@mail.com", "10.0.0.1"));
+    }
+
+    @Test
+    public void check_shouldNotSpendAccountBudget_whenAddressIsThrottled() {
+        LoginThrottle throttle = new LoginThrottle(true, 1, 1, 1, 1, 1000);
+
+        throttle.check("first@mail.com", "10.0.0.2");
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThrows(LoginThrottledException.class,
+                    () -> throttle.check("victim@mail.com", "10.0.0.2"));
+        }
+
+        throttle.check("victim@mail.com", "10.0.0.3");
+    }
+
+    @Test
+    public void check_shouldCountRejectionsOnlyOnTheLimiterThatRefused() {
+        LoginThrottle throttle = new LoginThrottle(true, 1, 1, 1, 3, 1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        throttle.bindTo(registry);
+
+        throttle.check("counted@mail.com", "10.0.0.4");
+        throttle.check("fresh@mail.com", "10.0.0.4");
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(LoginThrottledException.class,
+                    () -> throttle.check("counted@mail.com", "10.0.0.4"));
+        }
+
+        Assertions.assertEquals(4.0, registry.get("auth.throttle.rejected")
+                .tag("limiter", "account").functionCounter().count());
+        Assertions.assertEquals(0.0, registry.get("auth.throttle.rejected")
+                .tag("limiter", "address").functionCounter().count());
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.session.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.session.security.hash.HashingCapacityExceededException;
+import org.example.session.security.hash.PasswordHashingExecutor;
+import org.example.session.security.user.DbUserDetailsService;
+import org.example.session.security.user.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void encode_shouldRejectImmediately_whenWorkerAndQueueAreFull() throws Exception {
+        executor = executor(1, 1, Duration.ofSeconds(30));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("b"));
+        waitFor(() -> registry.get("auth.hashing.queue.depth").gauge().value() == 1);
+
+        long start = System.nanoTime();
+        HashingCapacityExceededException e = Assertions.assertThrows(HashingCapacityExceededException.class,
+                () -> executor.encode("c"));
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        Assertions.assertEquals("2", e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(1.0, registry.get("auth.hashing.rejected").functionCounter().count());
+        Assertions.assertEquals(1.0, registry.get("auth.hashing.active").gauge().value());
+
+        release.countDown();
+        Assertions.assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, registry.get("auth.hashing.latency").functionTimer().count());
+        Assertions.assertEquals(2, registry.get("auth.hashing.wait").functionTimer().count());
+    }
+
+    @Test
+    public void encode_shouldGiveUpAfterMaxWait_whenQueuedBehindSlowHash() throws Exception {
+        executor = executor(1, 8, Duration.ofMillis(200));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        Assertions.assertThrows(HashingCapacityExceededException.class, () -> executor.encode("b"));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(waitedMs >= 150 && waitedMs < 5_000, "waited " + waitedMs + " ms");
+        Assertions.assertEquals(1.0, registry.get("auth.hashing.rejected").functionCounter().count());
+
+        release.countDown();
+        Assertions.assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void matches_shouldRunOnPool_andRecordLatency() {
+        release.countDown();
+        executor = executor(2, 4, Duration.ofSeconds(5));
+
+        Assertions.assertTrue(executor.matches("a", "hash:a"));
+        Assertions.assertFalse(executor.matches("a", "hash:b"));
+        Assertions.assertEquals(2, registry.get("auth.hashing.latency").functionTimer().count());
+        Assertions.assertEquals(0.0, registry.get("auth.hashing.rejected").functionCounter().count());
+    }
+
+    @Test
+    public void updatePassword_shouldSkipUpgrade_whenHashingPoolIsFull() throws Exception {
+        executor = executor(1, 1, Duration.ofSeconds(30));
+        DbUserDetailsService userDetailsService = new DbUserDetailsService(null, null, executor);
+        UserServiceImpl user = new UserServiceImpl(1, "rehash@mail.com", "USER", "ACTIVE", 0, "{bcrypt-8}old");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("b"));
+        waitFor(() -> registry.get("auth.hashing.queue.depth").gauge().value() == 1);
+
+        Assertions.assertSame(user, userDetailsService.updatePassword(user, "pass"));
+        Assertions.assertEquals(1.0, registry.get("auth.hashing.rejected").functionCounter().count());
+
+        release.countDown();
+        Assertions.assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private PasswordHashingExecutor executor(int threads, int queueCapacity, Duration maxWait) {
+        PasswordHashingExecutor e = new PasswordHashingExecutor(new BlockingEncoder(), threads, queueCapacity,
+                maxWait, Duration.ofSeconds(2));
+        e.bindTo(registry);
+        return e;
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("condition not reached");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Stands in for BCrypt: every call blocks until the test releases it.
+     */
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return ("hash:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
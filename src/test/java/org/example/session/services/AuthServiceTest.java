@@ -3,11 +3,18 @@ package org.example.session.services;
 import org.example.session.data.dtos.request.auth.ChangePassDto;
 import org.example.session.data.dtos.request.auth.RegisterDto;
 import org.example.session.data.dtos.request.auth.UpdateProfileDto;
+import org.example.session.data.dtos.response.TokenResDto;
 import org.example.session.data.dtos.response.UserResDto;
 import org.example.session.db.entity.Role;
 import org.example.session.db.entity.User;
 import org.example.session.db.repositoty.RoleRepo;
 import org.example.session.db.repositoty.UserRepo;
+import org.example.session.security.hash.PasswordChangedConcurrentlyException;
+import org.example.session.security.throttle.LoginThrottledException;
+import org.example.session.security.token.TokenClaims;
+import org.example.session.security.token.TokenService;
+import org.example.session.security.token.TokenVersionRegistry;
+import org.example.session.security.user.RoleRegistry;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.AuthService;
 import org.junit.jupiter.api.Assertions;
@@ -15,11 +22,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -37,6 +56,18 @@ public class AuthServiceTest {
     @Autowired
     private PasswordEncoder encoder;
 
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @BeforeEach
     void setup() {
         userRepo.deleteAll();
@@ -50,6 +81,8 @@ public class AuthServiceTest {
 
         roleRepo.save(role2);
         roleRepo.save(role);
+
+        roleRegistry.reload();
     }
 
     @Test
@@ -71,7 +104,7 @@ public class AuthServiceTest {
 
         Assertions.assertEquals("ACTIVE", fromDb.getStatus());
         Assertions.assertNotNull(fromDb.getRole());
-        Assertions.assertEquals("BUYER", fromDb.getRole().getName());
+        Assertions.assertEquals("BUYER", roleRegistry.nameOf(fromDb.getRole().getId()));
 
         Assertions.assertNotNull(fromDb.getPasswordHash());
         Assertions.assertNotEquals(req.getPassword(), fromDb.getPasswordHash());
@@ -172,6 +205,174 @@ public class AuthServiceTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> authService.changePassword(principal, dto));
     }
 
+    @Test
+    public void changePassword_shouldLetOnlyOneConcurrentChangeWin() throws Exception {
+        User user = createUserInDb("Race User", uniqueEmail(), "oldPass");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (String newPassword : List.of("first", "second")) {
+                results.add(pool.submit(() -> {
+                    ChangePassDto dto = new ChangePassDto();
+                    dto.setOldPassword("oldPass");
+                    dto.setNewPassword(newPassword);
+                    start.await();
+                    try {
+                        authService.changePassword(buildPrincipal(user), dto);
+                        return true;
+                    } catch (PasswordChangedConcurrentlyException | IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            Assertions.assertEquals(1, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        User fromDb = userRepo.findById(user.getId()).orElseThrow();
+        Assertions.assertEquals(1, fromDb.getTokenVersion());
+        Assertions.assertTrue(encoder.matches("first", fromDb.getPasswordHash())
+                || encoder.matches("second", fromDb.getPasswordHash()));
+    }
+
+    @Test
+    public void revokeAll_shouldNotLoseConcurrentRevocations() throws Exception {
+        User user = createUserInDb("Revoked User", uniqueEmail(), "secret");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (String role : List.of("SELLER", "BUYER")) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return authService.updateRoleByAdmin(user.getId(), role);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assertions.assertEquals(2, userRepo.findById(user.getId()).orElseThrow().getTokenVersion());
+        Assertions.assertEquals(2, tokenVersionRegistry.current(user.getId()));
+    }
+
+    @Test
+    public void authenticate_shouldRejectOldPassword_afterChangePassword() {
+        User user = createUserInDb("Cache User", uniqueEmail(), "oldPass");
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "oldPass"));
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "oldPass"));
+
+        ChangePassDto dto = new ChangePassDto();
+        dto.setOldPassword("oldPass");
+        dto.setNewPassword("newPass");
+        authService.changePassword(buildPrincipal(user), dto);
+
+        Assertions.assertThrows(AuthenticationException.class, () -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "oldPass")));
+        Assertions.assertNotNull(authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "newPass")));
+    }
+
+    @Test
+    public void authenticate_shouldRejectBlockedUser_evenWhenCached() {
+        User user = createUserInDb("Blocked User", uniqueEmail(), "secret");
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "secret"));
+
+        authService.updateStatusByAdmin(user.getId(), "BLOCKED");
+
+        Assertions.assertThrows(AuthenticationException.class, () -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "secret")));
+    }
+
+    @Test
+    public void issueTokens_shouldProduceVerifiableAccessToken() {
+        User user = createUserInDb("Token User", uniqueEmail(), "secret");
+
+        TokenResDto tokens = authService.issueTokens(buildPrincipal(user));
+
+        TokenClaims claims = tokenService.parseAccessToken(tokens.getAccessToken())
+                .orElseThrow(() -> new AssertionError("Access token rejected"));
+
+        Assertions.assertEquals(user.getId(), claims.userId());
+        Assertions.assertEquals(user.getEmail(), claims.email());
+        Assertions.assertEquals("BUYER", claims.role());
+        Assertions.assertTrue(tokenService.parseAccessToken(tokens.getRefreshToken()).isEmpty());
+        Assertions.assertTrue(tokenService.parseAccessToken(tokens.getAccessToken() + "x").isEmpty());
+    }
+
+    @Test
+    public void changePassword_shouldRevokeIssuedTokens() {
+        User user = createUserInDb("Token User", uniqueEmail(), "oldPass");
+        TokenResDto tokens = authService.issueTokens(buildPrincipal(user));
+
+        ChangePassDto dto = new ChangePassDto();
+        dto.setOldPassword("oldPass");
+        dto.setNewPassword("newPass");
+        authService.changePassword(buildPrincipal(user), dto);
+
+        Assertions.assertTrue(tokenService.parseAccessToken(tokens.getAccessToken()).isEmpty());
+        Assertions.assertTrue(tokenService.parseRefreshToken(tokens.getRefreshToken()).isEmpty());
+    }
+
+    @Test
+    public void authenticate_shouldRehashLegacyPassword_toCurrentProfile() {
+        User user = createUserInDb("Legacy User", uniqueEmail(), "secret");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret"));
+        userRepo.save(user);
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "secret"));
+
+        User fromDb = userRepo.findById(user.getId())
+                .orElseThrow(() -> new AssertionError("User not found in DB"));
+
+        Assertions.assertTrue(fromDb.getPasswordHash().startsWith("{bcrypt-10}"));
+        Assertions.assertTrue(encoder.matches("secret", fromDb.getPasswordHash()));
+    }
+
+    @Test
+    public void authenticate_shouldThrottleAccount_afterRepeatedFailures() {
+        User user = createUserInDb("Throttled User", uniqueEmail(), "secret");
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(user.getEmail(), "wrong")));
+        }
+
+        LoginThrottledException ex = Assertions.assertThrows(LoginThrottledException.class,
+                () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(user.getEmail().toUpperCase(), "secret")));
+        Assertions.assertTrue(ex.getRetryAfter().toMillis() > 0);
+    }
+
+    @Test
+    public void roleRegistry_shouldRememberUnknownNames_untilReload() {
+        String name = "ROLE_" + UUID.randomUUID();
+        Assertions.assertTrue(roleRegistry.idOf(name).isEmpty());
+
+        Role role = new Role();
+        role.setName(name);
+        roleRepo.save(role);
+
+        Assertions.assertTrue(roleRegistry.idOf(name).isEmpty());
+
+        roleRegistry.reload();
+        Assertions.assertEquals(role.getId(), roleRegistry.idOf(name).orElseThrow());
+    }
+
     private String uniqueEmail() {
         return "user_" + UUID.randomUUID() + "@mail.com";
     }
@@ -1,11 +1,13 @@
 package org.example.session.services;
 
 import jakarta.transaction.Transactional;
+import org.example.session.data.dtos.request.cart.CartBatchDto;
 import org.example.session.data.dtos.request.cart.CartItemDto;
 import org.example.session.db.entity.*;
 import org.example.session.db.repositoty.*;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.CartService;
+import org.example.session.service.version.ResourceVersion;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,8 +17,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -156,6 +165,45 @@ public class CartServiceTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.addItem(principal, dto));
     }
 
+    @Test
+    public void addItem_shouldNotLoseIncrements_whenTabsAddConcurrently() throws Exception {
+        User buyer = createBuyerInDb();
+        UserServiceImpl principal = buildPrincipal(buyer);
+        Product product = createProductInDb("ACTIVE", 100L);
+
+        int threads = 8;
+        int addsPerThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < addsPerThread; i++) {
+                        CartItemDto dto = new CartItemDto();
+                        dto.setProductId(product.getId());
+                        dto.setQuantity(1);
+                        cartService.addItem(principal, dto);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Cart cart = cartRepo.findByBuyer_Id(buyer.getId()).orElseThrow();
+        CartItem item = cartItemRepo.findByCart_IdAndProduct_Id(cart.getId(), product.getId())
+                .orElseThrow(() -> new AssertionError("CartItem not found"));
+        Assertions.assertEquals(threads * addsPerThread, item.getQuantity());
+        Assertions.assertEquals(1, cartItemRepo.count());
+    }
+
     @Test
     @Transactional
     public void setQuantity_shouldUpdateQuantity_whenQtyPositive() {
@@ -223,6 +271,102 @@ public class CartServiceTest {
         Assertions.assertTrue(item.isEmpty());
     }
 
+    @Test
+    @Transactional
+    public void applyBatch_shouldFoldOperationsPerProduct() {
+        User buyer = createBuyerInDb();
+        UserServiceImpl principal = buildPrincipal(buyer);
+
+        Product kept = createProductInDb("ACTIVE", 10L);
+        Product added = createProductInDb("ACTIVE", 20L);
+        Product readded = createProductInDb("ACTIVE", 30L);
+        Product dropped = createProductInDb("ACTIVE", 40L);
+
+        CartItemDto existing = new CartItemDto();
+        existing.setProductId(kept.getId());
+        existing.setQuantity(2);
+        cartService.addItem(principal, existing);
+        existing.setProductId(readded.getId());
+        cartService.addItem(principal, existing);
+        existing.setProductId(dropped.getId());
+        cartService.addItem(principal, existing);
+
+        Cart cart = cartService.applyBatch(principal, batch(
+                op("add", kept.getId(), 3),
+                op("set", kept.getId(), 4),
+                op("add", kept.getId(), 1),
+                op("add", added.getId(), 1),
+                op("add", added.getId(), 2),
+                op("remove", readded.getId(), null),
+                op("add", readded.getId(), 7),
+                op("set", dropped.getId(), 0)));
+
+        Assertions.assertEquals(5, quantity(cart, kept));
+        Assertions.assertEquals(3, quantity(cart, added));
+        Assertions.assertEquals(7, quantity(cart, readded));
+        Assertions.assertTrue(cartItemRepo.findByCart_IdAndProduct_Id(cart.getId(), dropped.getId()).isEmpty());
+        Assertions.assertEquals(3, cart.getItems().size());
+    }
+
+    @Test
+    public void applyBatch_shouldSetArchivedLines_andRestartReaddedLines() {
+        User buyer = createBuyerInDb();
+        UserServiceImpl principal = buildPrincipal(buyer);
+
+        Product archived = createProductInDb("ACTIVE", 10L);
+        Product readded = createProductInDb("ACTIVE", 30L);
+
+        CartItemDto existing = new CartItemDto();
+        existing.setQuantity(2);
+        existing.setProductId(archived.getId());
+        cartService.addItem(principal, existing);
+        existing.setProductId(readded.getId());
+        Cart cart = cartService.addItem(principal, existing);
+        Instant firstAddedAt = cartItemRepo.findByCart_IdAndProduct_Id(cart.getId(), readded.getId())
+                .orElseThrow().getCreatedAt();
+
+        archived.setStatus("ARCHIVED");
+        productRepo.save(archived);
+        readded.setPrice(35L);
+        productRepo.save(readded);
+
+        cartService.applyBatch(principal, batch(
+                op("set", archived.getId(), 5),
+                op("remove", readded.getId(), null),
+                op("add", readded.getId(), 1)));
+
+        Assertions.assertEquals(5, quantity(cart, archived));
+        CartItem restarted = cartItemRepo.findByCart_IdAndProduct_Id(cart.getId(), readded.getId()).orElseThrow();
+        Assertions.assertEquals(1, restarted.getQuantity());
+        Assertions.assertEquals(35L, restarted.getPriceSnapshot());
+        Assertions.assertFalse(restarted.getCreatedAt().isBefore(firstAddedAt));
+    }
+
+    @Test
+    public void applyBatch_shouldRejectWholeBatch_onAnyInvalidOperation() {
+        User buyer = createBuyerInDb();
+        UserServiceImpl principal = buildPrincipal(buyer);
+
+        Product active = createProductInDb("ACTIVE", 10L);
+        Product archived = createProductInDb("ARCHIVED", 10L);
+        Product notInCart = createProductInDb("ACTIVE", 10L);
+
+        Cart cart = cartService.applyBatch(principal, batch(op("add", active.getId(), 1)));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.applyBatch(principal,
+                batch(op("add", active.getId(), 5), op("add", archived.getId(), 1))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.applyBatch(principal,
+                batch(op("remove", active.getId(), null), op("set", notInCart.getId(), 2))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.applyBatch(principal,
+                batch(op("remove", active.getId(), null), op("set", active.getId(), 2))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.applyBatch(principal,
+                batch(op("replace", active.getId(), 2))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cartService.applyBatch(principal, batch()));
+
+        Assertions.assertEquals(1, quantity(cart, active));
+        Assertions.assertEquals(1, cartItemRepo.count());
+    }
+
     @Test
     @Transactional
     public void clear_shouldRemoveAllItems() {
@@ -252,6 +396,31 @@ public class CartServiceTest {
     }
 
 
+    @Test
+    @Transactional
+    public void version_shouldChange_whenCartOrItsProductsChange() {
+        User buyer = createBuyerInDb();
+        UserServiceImpl principal = buildPrincipal(buyer);
+
+        Assertions.assertNull(cartService.version(principal));
+
+        Product product = createProductInDb("ACTIVE", 100L);
+        CartItemDto dto = new CartItemDto();
+        dto.setProductId(product.getId());
+        dto.setQuantity(1);
+        cartService.addItem(principal, dto);
+
+        ResourceVersion afterAdd = cartService.version(principal);
+        Assertions.assertNotNull(afterAdd);
+        Assertions.assertEquals(afterAdd, cartService.version(principal));
+
+        product.setTitle("Renamed");
+        product.setUpdatedAt(Instant.now().plusSeconds(1));
+
+        ResourceVersion afterRename = cartService.version(principal);
+        Assertions.assertNotEquals(afterAdd.etag(), afterRename.etag());
+    }
+
     private User createBuyerInDb() {
         Role buyer = roleRepo.findByName("BUYER")
                 .orElseThrow(() -> new AssertionError("BUYER role missing"));
@@ -305,6 +474,26 @@ public class CartServiceTest {
         return productRepo.save(p);
     }
 
+    private int quantity(Cart cart, Product product) {
+        return cartItemRepo.findByCart_IdAndProduct_Id(cart.getId(), product.getId())
+                .orElseThrow(() -> new AssertionError("CartItem not found"))
+                .getQuantity();
+    }
+
+    private static CartBatchDto batch(CartBatchDto.Op... ops) {
+        CartBatchDto dto = new CartBatchDto();
+        dto.setOps(List.of(ops));
+        return dto;
+    }
+
+    private static CartBatchDto.Op op(String kind, Integer productId, Integer quantity) {
+        CartBatchDto.Op op = new CartBatchDto.Op();
+        op.setOp(kind);
+        op.setProductId(productId);
+        op.setQuantity(quantity);
+        return op;
+    }
+
     private UserServiceImpl buildPrincipal(User user) {
         return new UserServiceImpl(user);
     }
@@ -0,0 +1,98 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.request.product.ProductDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Role;
+import org.example.session.db.entity.User;
+import org.example.session.db.repositoty.*;
+import org.example.session.security.user.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Sellers, categories and product payloads for catalog tests. Pull it in with
+ * {@code @Import(CatalogFixture.class)} and call {@link #reset()} before each test.
+ */
+@TestComponent
+public class CatalogFixture {
+
+    private final ProductRepo productRepo;
+    private final InventoryRepo inventoryRepo;
+    private final CategoryRepo categoryRepo;
+    private final UserRepo userRepo;
+    private final RoleRepo roleRepo;
+    private final PasswordEncoder encoder;
+
+    @Autowired
+    public CatalogFixture(ProductRepo productRepo, InventoryRepo inventoryRepo, CategoryRepo categoryRepo,
+                          UserRepo userRepo, RoleRepo roleRepo, PasswordEncoder encoder) {
+        this.productRepo = productRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.categoryRepo = categoryRepo;
+        this.userRepo = userRepo;
+        this.roleRepo = roleRepo;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Empties the catalog and user tables and recreates the SELLER role.
+     */
+    public void reset() {
+        inventoryRepo.deleteAll();
+        productRepo.deleteAll();
+        categoryRepo.deleteAll();
+        userRepo.deleteAll();
+        roleRepo.deleteAll();
+
+        Role sellerRole = new Role();
+        sellerRole.setName("SELLER");
+        roleRepo.save(sellerRole);
+    }
+
+    /**
+     * @return an active seller with a unique {@code <prefix>_<uuid>@mail.com} email and password "pass"
+     */
+    public UserServiceImpl seller(String prefix) {
+        User u = new User();
+        u.setEmail(prefix + "_" + UUID.randomUUID() + "@mail.com");
+        u.setFullName(prefix + " seller");
+        u.setPasswordHash(encoder.encode("pass"));
+        u.setStatus("ACTIVE");
+        u.setRole(roleRepo.findByName("SELLER").orElseThrow());
+        u.setCreatedAt(Instant.now());
+        u.setUpdatedAt(Instant.now());
+        return new UserServiceImpl(userRepo.save(u));
+    }
+
+    public Category category(String name) {
+        return category(name, null);
+    }
+
+    /**
+     * @return a category named {@code name} plus a random suffix, so names never collide between tests
+     */
+    public Category category(String name, Category parent) {
+        Category c = new Category();
+        c.setName(name + " " + UUID.randomUUID());
+        c.setParent(parent);
+        c.setCreatedAt(Instant.now());
+        return categoryRepo.save(c);
+    }
+
+    public static ProductDto productDto(Category category, String title) {
+        return productDto(category, title, 100L);
+    }
+
+    public static ProductDto productDto(Category category, String title, long price) {
+        ProductDto dto = new ProductDto();
+        dto.setCategoryId(category.getId());
+        dto.setTitle(title);
+        dto.setDescription("desc");
+        dto.setPrice(price);
+        return dto;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Product;
+import org.example.session.db.repositoty.ProductRepo;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.ProductService;
+import org.example.session.service.catalog.CatalogFilter;
+import org.example.session.service.catalog.CatalogSort;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.CursorPage;
+import org.example.session.service.snapshot.CatalogSnapshot;
+import org.example.session.service.snapshot.CatalogSnapshotService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.session.services.CatalogFixture.productDto;
+
+@SpringBootTest(properties = {
+        "app.catalog.snapshot.enabled=true",
+        "app.catalog.snapshot.refresh-interval=1h"
+})
+@ActiveProfiles("test")
+@Import(CatalogFixture.class)
+public class CatalogSnapshotServiceTest {
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private UserServiceImpl seller;
+    private Category parent;
+    private Category child;
+    private Category other;
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+        seller = fixture.seller("snapshot");
+
+        parent = fixture.category("Electronics");
+        child = fixture.category("Phones", parent);
+        other = fixture.category("Books");
+
+        snapshotService.rebuild();
+    }
+
+    @Test
+    public void listPublic_shouldServeSnapshot_andPickUpChangesOnlyAfterApply() throws Exception {
+        Product a = createActive("Phone A", child, 500L);
+        Product b = createActive("Laptop B", parent, 1500L);
+        Product c = createActive("Novel C", other, 20L);
+        snapshotService.applyPending();
+
+        Assertions.assertEquals(0, snapshotService.pendingChanges());
+        Page<ProductResDto> first = (Page<ProductResDto>) productService.listPublic(0, 2, CountMode.EXACT);
+        Assertions.assertEquals(3, first.getTotalElements());
+        Assertions.assertEquals(List.of(id(c), id(b)), ids(first.getContent()));
+        Assertions.assertEquals("Electronics", first.getContent().get(1).getCategoryName());
+        Assertions.assertEquals(seller.getUsername(), first.getContent().get(1).getSellerEmail());
+        Assertions.assertEquals(productRepo.findResDtoById(b.getId()).orElseThrow(), first.getContent().get(1));
+
+        long version = snapshotService.current().version();
+        productService.archiveBySeller(seller, b.getId());
+        Product d = createActive("Phone D", child, 700L);
+
+        Assertions.assertTrue(snapshotService.pendingChanges() > 0);
+        Assertions.assertEquals(List.of(id(c), id(b), id(a)), ids(productService.listPublic(0, 10, CountMode.NONE).getContent()));
+
+        snapshotService.applyPending();
+
+        Assertions.assertTrue(snapshotService.current().version() > version);
+        Assertions.assertEquals(0, snapshotService.stalenessMillis());
+        Assertions.assertEquals(List.of(id(d), id(c), id(a)), ids(productService.listPublic(0, 10, CountMode.NONE).getContent()));
+    }
+
+    @Test
+    public void listPublic_shouldFilterBySubtreeAndPrice_fromSnapshot() throws Exception {
+        Product a = createActive("Phone A", child, 500L);
+        Product b = createActive("Laptop B", parent, 1500L);
+        createActive("Novel C", other, 20L);
+        snapshotService.applyPending();
+
+        Slice<ProductResDto> subtree = productService.listPublic(filter(parent.getId(), null, null), 0, 10, CountMode.EXACT);
+        Assertions.assertEquals(List.of(id(b), id(a)), ids(subtree.getContent()));
+        Assertions.assertEquals(2, ((Page<ProductResDto>) subtree).getTotalElements());
+
+        Slice<ProductResDto> cheap = productService.listPublic(filter(parent.getId(), null, 1000L), 0, 10, CountMode.NONE);
+        Assertions.assertEquals(List.of(id(a)), ids(cheap.getContent()));
+        Assertions.assertFalse(cheap.hasNext());
+
+        Slice<ProductResDto> firstOfTwo = productService.listPublic(filter(parent.getId(), null, null), 0, 1, CountMode.NONE);
+        Assertions.assertTrue(firstOfTwo.hasNext());
+
+        Assertions.assertTrue(productService.listPublic(filter(-1, null, null), 0, 10, CountMode.NONE).isEmpty());
+    }
+
+    @Test
+    public void listPublicAfter_shouldWalkSnapshot_withoutGapsOrDuplicates() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, id(createActive("Item " + i, child, 100L + i)));
+        }
+        snapshotService.applyPending();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<ProductResDto> page = productService.listPublicAfter(cursor, 2);
+            seen.addAll(ids(page.items()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, seen);
+    }
+
+    @Test
+    public void rebuild_shouldMatchIncrementalState() throws Exception {
+        createActive("Phone A", child, 500L);
+        Product b = createActive("Laptop B", parent, 1500L);
+        productService.archiveBySeller(seller, b.getId());
+        snapshotService.applyPending();
+        List<Long> incremental = ids(productService.listPublic(0, 10, CountMode.NONE).getContent());
+
+        snapshotService.rebuild();
+        CatalogSnapshot rebuilt = snapshotService.current();
+
+        Assertions.assertEquals(1, rebuilt.size());
+        Assertions.assertEquals(incremental, ids(productService.listPublic(0, 10, CountMode.NONE).getContent()));
+        Assertions.assertTrue(rebuilt.estimatedBytes() > 0);
+    }
+
+    private Product createActive(String title, Category category, long price) throws Exception {
+        Product created = productService.create(seller, productDto(category, title, price));
+
+        ProductUpdateDto update = new ProductUpdateDto();
+        update.setCategoryId(category.getId());
+        update.setTitle(title);
+        update.setDescription("desc");
+        update.setPrice(price);
+        update.setStatus("ACTIVE");
+        return productService.updateBySeller(seller, created.getId(), update);
+    }
+
+    private static CatalogFilter filter(Integer categoryId, Long minPrice, Long maxPrice) {
+        return new CatalogFilter(categoryId, minPrice, maxPrice, false, CatalogSort.NEWEST);
+    }
+
+    private static long id(Product p) {
+        return p.getId().longValue();
+    }
+
+    private static List<Long> ids(List<ProductResDto> rows) {
+        return rows.stream().map(ProductResDto::getId).toList();
+    }
+}
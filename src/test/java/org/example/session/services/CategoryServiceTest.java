@@ -1,18 +1,26 @@
 package org.example.session.services;
 
 import org.example.session.data.dtos.request.CategoryDto;
+import org.example.session.data.dtos.response.CategoryResDto;
+import org.example.session.data.dtos.response.CategoryTreeNodeResDto;
 import org.example.session.db.entity.Category;
 import org.example.session.db.repositoty.CategoryRepo;
 import org.example.session.service.CategoryService;
+import org.example.session.service.category.CategoryTree;
+import org.example.session.service.category.CategoryTreeService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -24,6 +32,15 @@ public class CategoryServiceTest {
     @Autowired
     private CategoryRepo categoryRepo;
 
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryTreeService categoryTreeService;
+
     @BeforeEach
     void setup() {
         categoryRepo.deleteAll();
@@ -257,5 +274,112 @@ public class CategoryServiceTest {
             Assertions.assertEquals(parent.getId(), c.getParent().getId());
         }
     }
+
+    @Test
+    public void tree_shouldServeRootsChildrenPathAndJson_andFollowCreate() {
+        Category electronics = categoryService.create(categoryDto("Electronics", null));
+        Category phones = categoryService.create(categoryDto("Phones", electronics.getId()));
+        categoryService.create(categoryDto("Laptops", electronics.getId()));
+        Category books = categoryService.create(categoryDto("Books", null));
+
+        CategoryTree tree = categoryService.tree();
+
+        Assertions.assertEquals(List.of("Books", "Electronics"), names(tree.roots()));
+        Assertions.assertEquals(List.of("Laptops", "Phones"), names(tree.children(electronics.getId())));
+        Assertions.assertEquals(List.of("Electronics", "Phones"), names(tree.path(phones.getId())));
+        Assertions.assertEquals("Electronics", tree.get(phones.getId()).getParentName());
+        Assertions.assertEquals(categoryService.version(), tree.version());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> tree.get(-1));
+
+        CategoryTreeNodeResDto[] nodes = jsonMapper.readValue(tree.json(), CategoryTreeNodeResDto[].class);
+        Assertions.assertEquals(2, nodes.length);
+        Assertions.assertEquals(books.getId(), nodes[0].getId());
+        Assertions.assertEquals(List.of("Laptops", "Phones"),
+                nodes[1].getChildren().stream().map(CategoryTreeNodeResDto::getName).toList());
+
+        categoryService.create(categoryDto("Tablets", electronics.getId()));
+
+        CategoryTree reloaded = categoryService.tree();
+        Assertions.assertEquals(List.of("Laptops", "Phones", "Tablets"), names(reloaded.children(electronics.getId())));
+        Assertions.assertNotEquals(tree.version(), reloaded.version());
+        Assertions.assertEquals(List.of("Laptops", "Phones"), names(tree.children(electronics.getId())));
+    }
+
+    @Test
+    public void reloadIfChanged_shouldPickUpRenamesMovesAndDeletesMadeOutsideTheService() {
+        Category electronics = categoryService.create(categoryDto("Electronics", null));
+        Category phones = categoryService.create(categoryDto("Phones", electronics.getId()));
+        Category books = categoryService.create(categoryDto("Books", null));
+
+        CategoryTree before = categoryService.tree();
+        categoryTreeService.reloadIfChanged();
+        Assertions.assertSame(before, categoryService.tree());
+
+        jdbcTemplate.update("update categories set name = 'Mobiles' where id = ?", phones.getId());
+        categoryTreeService.reloadIfChanged();
+        CategoryTree renamed = categoryService.tree();
+        Assertions.assertNotEquals(before.version().etag(), renamed.version().etag());
+        Assertions.assertEquals("Mobiles", renamed.name(phones.getId()));
+
+        jdbcTemplate.update("update categories set parent_id = ? where id = ?", books.getId(), phones.getId());
+        categoryTreeService.reloadIfChanged();
+        CategoryTree moved = categoryService.tree();
+        Assertions.assertNotEquals(renamed.version().etag(), moved.version().etag());
+        Assertions.assertEquals(List.of("Mobiles"), names(moved.children(books.getId())));
+        Assertions.assertEquals(List.of(), names(moved.children(electronics.getId())));
+
+        jdbcTemplate.update("delete from categories where id = ?", phones.getId());
+        categoryTreeService.reloadIfChanged();
+        CategoryTree deleted = categoryService.tree();
+        Assertions.assertNotEquals(moved.version().etag(), deleted.version().etag());
+        Assertions.assertNull(deleted.name(phones.getId()));
+        Assertions.assertEquals(categoryService.version(), deleted.version());
+    }
+
+    @Test
+    public void closure_shouldFollowCreateRepoInsertAndParentDelete() {
+        Category electronics = categoryService.create(categoryDto("Electronics", null));
+
+        Category phones = new Category();
+        phones.setName("Phones");
+        phones.setParent(electronics);
+        phones.setCreatedAt(Instant.now());
+        phones = categoryRepo.save(phones);
+
+        Category smartphones = categoryService.create(categoryDto("Smartphones", phones.getId()));
+
+        Assertions.assertEquals(Map.of(electronics.getId(), 2, phones.getId(), 1, smartphones.getId(), 0),
+                ancestors(smartphones.getId()));
+        Assertions.assertEquals(List.of(electronics.getId(), phones.getId(), smartphones.getId()),
+                jdbcTemplate.queryForList("select descendant_id from category_closure where ancestor_id = ? order by depth",
+                        Integer.class, electronics.getId()));
+
+        categoryRepo.deleteById(phones.getId());
+
+        Assertions.assertEquals(Map.of(smartphones.getId(), 0), ancestors(smartphones.getId()));
+        Assertions.assertEquals(Map.of(electronics.getId(), 0), ancestors(electronics.getId()));
+    }
+
+    private Map<Integer, Integer> ancestors(Integer id) {
+        return jdbcTemplate.query("select ancestor_id, depth from category_closure where descendant_id = ?",
+                rs -> {
+                    Map<Integer, Integer> res = new HashMap<>();
+                    while (rs.next()) {
+                        res.put(rs.getInt("ancestor_id"), rs.getInt("depth"));
+                    }
+                    return res;
+                }, id);
+    }
+
+    private static CategoryDto categoryDto(String name, Integer parentId) {
+        CategoryDto dto = new CategoryDto();
+        dto.setName(name);
+        dto.setParentId(parentId);
+        return dto;
+    }
+
+    private static List<String> names(List<CategoryResDto> categories) {
+        return categories.stream().map(CategoryResDto::getName).toList();
+    }
 }
 
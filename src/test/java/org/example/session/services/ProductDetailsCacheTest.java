@@ -0,0 +1,172 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
+import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.ProductBulkUpdateResDto;
+import org.example.session.data.dtos.response.product.ProductResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Product;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.ProductService;
+import org.example.session.service.cache.ProductDetailsCache;
+import org.example.session.service.version.ResourceVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.example.session.services.CatalogFixture.productDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(CatalogFixture.class)
+public class ProductDetailsCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductDetailsCache productDetailsCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private UserServiceImpl seller;
+    private Category category;
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+        productDetailsCache.invalidateAll();
+
+        seller = fixture.seller("cache");
+        category = fixture.category("Cache");
+    }
+
+    @Test
+    public void getDetails_shouldServeRepeatedReadsFromCache() {
+        Product p = productService.create(seller, productDto(category, "Desk lamp"));
+        Assertions.assertEquals("Desk lamp", productService.getDetails(p.getId()).getTitle());
+
+        // a write that bypasses ProductService is not seen until the entry is invalidated
+        jdbcTemplate.update("update products set title = 'Changed behind the cache' where id = ?", p.getId());
+        Assertions.assertEquals("Desk lamp", productService.getDetails(p.getId()).getTitle());
+
+        productDetailsCache.invalidateAll();
+        Assertions.assertEquals("Changed behind the cache", productService.getDetails(p.getId()).getTitle());
+    }
+
+    @Test
+    public void getDetails_shouldReflectUpdatesAndArchive_afterCommit() throws Exception {
+        Product p = productService.create(seller, productDto(category, "Office chair"));
+        Assertions.assertEquals("DRAFT", productService.getDetails(p.getId()).getStatus());
+
+        productService.updateBySeller(seller, p.getId(), updateDto("Ergonomic office chair", "ACTIVE"));
+        ProductResDto updated = productService.getDetails(p.getId());
+        Assertions.assertEquals("Ergonomic office chair", updated.getTitle());
+        Assertions.assertEquals("ACTIVE", updated.getStatus());
+
+        productService.updateByAdmin(p.getId(), updateDto("Admin chair", "ACTIVE"));
+        Assertions.assertEquals("Admin chair", productService.getDetails(p.getId()).getTitle());
+
+        productService.archiveByAdmin(p.getId());
+        Assertions.assertEquals("ARCHIVED", productService.getDetails(p.getId()).getStatus());
+    }
+
+    @Test
+    public void version_shouldMatchCachedEntry_andChangeAfterUpdate() throws Exception {
+        Product p = productService.create(seller, productDto(category, "Bookshelf"));
+
+        ResourceVersion uncached = productService.version(p.getId());
+        productService.getDetails(p.getId());
+        Assertions.assertEquals(uncached, productService.version(p.getId()));
+
+        productService.updateBySeller(seller, p.getId(), updateDto("Tall bookshelf", "ACTIVE"));
+        ResourceVersion updated = productService.version(p.getId());
+        Assertions.assertNotEquals(uncached.etag(), updated.etag());
+        Assertions.assertEquals(updated, productService.version(p.getId()));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.version(-1));
+    }
+
+    @Test
+    public void bulkUpdate_shouldApplyValidChanges_andInvalidateTheirEntries() {
+        Product lamp = productService.create(seller, productDto(category, "Lamp"));
+        Product desk = productService.create(seller, productDto(category, "Desk"));
+        Product chair = productService.create(seller, productDto(category, "Chair"));
+        productService.getDetails(lamp.getId());
+        productService.getDetails(desk.getId());
+        productService.getDetails(chair.getId());
+
+        ProductBulkUpdateResDto res = productService.bulkUpdateBySeller(seller, bulk(
+                item(lamp.getId(), 250L, null),
+                item(desk.getId(), null, "active"),
+                item(chair.getId(), null, "SOLD"),
+                item(-1, 10L, null)));
+
+        Assertions.assertEquals(4, res.getRequested());
+        Assertions.assertEquals(2, res.getUpdated());
+        Assertions.assertEquals(List.of(chair.getId(), -1), res.getRejectedIds());
+
+        Assertions.assertEquals(250L, productService.getDetails(lamp.getId()).getPrice());
+        Assertions.assertEquals("ACTIVE", productService.getDetails(desk.getId()).getStatus());
+        Assertions.assertEquals("DRAFT", productService.getDetails(chair.getId()).getStatus());
+    }
+
+    @Test
+    public void bulkUpdate_shouldNotTouchOtherSellersProducts_unlessAdmin() {
+        Product lamp = productService.create(seller, productDto(category, "Lamp"));
+
+        UserServiceImpl otherSeller = fixture.seller("cache_other");
+
+        ProductBulkUpdateResDto denied = productService.bulkUpdateBySeller(otherSeller, bulk(item(lamp.getId(), 1L, null)));
+        Assertions.assertEquals(0, denied.getUpdated());
+        Assertions.assertEquals(100L, productService.getDetails(lamp.getId()).getPrice());
+
+        ProductBulkUpdateResDto admin = productService.bulkUpdateByAdmin(bulk(item(lamp.getId(), 1L, "ARCHIVED")));
+        Assertions.assertEquals(1, admin.getUpdated());
+        Assertions.assertEquals("ARCHIVED", productService.getDetails(lamp.getId()).getStatus());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> productService.bulkUpdateByAdmin(bulk(item(lamp.getId(), null, null))));
+    }
+
+    @Test
+    public void getDetails_shouldThrow_andNotCache_whenMissing() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.getDetails(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.getDetails(-1));
+    }
+
+    private static ProductBulkUpdateDto bulk(ProductBulkUpdateDto.Item... items) {
+        ProductBulkUpdateDto dto = new ProductBulkUpdateDto();
+        dto.setItems(List.of(items));
+        return dto;
+    }
+
+    private static ProductBulkUpdateDto.Item item(Integer id, Long price, String status) {
+        ProductBulkUpdateDto.Item item = new ProductBulkUpdateDto.Item();
+        item.setId(id);
+        item.setPrice(price);
+        item.setStatus(status);
+        return item;
+    }
+
+    private ProductUpdateDto updateDto(String title, String status) {
+        ProductUpdateDto dto = new ProductUpdateDto();
+        dto.setCategoryId(category.getId());
+        dto.setTitle(title);
+        dto.setDescription("desc");
+        dto.setPrice(100L);
+        dto.setStatus(status);
+        return dto;
+    }
+}
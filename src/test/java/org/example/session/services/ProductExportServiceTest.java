@@ -0,0 +1,118 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.response.product.ProductImportResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.ProductService;
+import org.example.session.service.exporting.ExportFormat;
+import org.example.session.service.exporting.ProductExportService;
+import org.example.session.service.importing.ImportFormat;
+import org.example.session.service.importing.ProductImportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.example.session.services.CatalogFixture.productDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(CatalogFixture.class)
+public class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private UserServiceImpl seller;
+    private UserServiceImpl otherSeller;
+    private Category category;
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+        seller = fixture.seller("export");
+        otherSeller = fixture.seller("export");
+        category = fixture.category("Export");
+    }
+
+    @Test
+    public void exportNdjson_shouldWriteOneLinePerSellerProduct() throws Exception {
+        productService.create(seller, productDto(category, "Lamp"));
+        productService.create(seller, productDto(category, "Desk, oak"));
+        productService.create(otherSeller, productDto(category, "Someone else's"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(seller.getId(), ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertEquals(2, rows);
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("\"title\":\"Lamp\""));
+        Assertions.assertTrue(lines.get(1).contains("\"title\":\"Desk, oak\""));
+        Assertions.assertTrue(lines.get(0).contains("\"quantity\":0"));
+
+        Assertions.assertEquals(3, exportService.export(null, ExportFormat.NDJSON, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void exportCsv_shouldRoundTripThroughImport() throws Exception {
+        productService.create(seller, productDto(category, "Lamp"));
+        productService.create(seller, productDto(category, "Desk, \"oak\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(seller.getId(), ExportFormat.CSV, out);
+
+        ProductImportResDto report = importService.importProducts(otherSeller,
+                new ByteArrayInputStream(out.toByteArray()), ImportFormat.CSV);
+        Assertions.assertEquals(2, report.getImported());
+        Assertions.assertEquals(0, report.getFailed());
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        exportService.export(otherSeller.getId(), ExportFormat.CSV, copy);
+        Assertions.assertTrue(copy.toString(StandardCharsets.UTF_8).contains("\"Desk, \"\"oak\"\"\""));
+    }
+
+    @Test
+    public void export_shouldStop_whenClientGoesAway() throws Exception {
+        // enough rows to overflow the writer's buffer while the cursor is still open
+        StringBuilder csv = new StringBuilder("category_id,title,price\n");
+        for (int i = 0; i < 2_000; i++) {
+            csv.append(category.getId()).append(",Item ").append(i).append(",100\n");
+        }
+        importService.importProducts(seller, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.CSV);
+
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset by peer");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Connection reset by peer");
+            }
+        };
+
+        Assertions.assertThrows(IOException.class, () -> exportService.export(seller.getId(), ExportFormat.NDJSON, broken));
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.response.product.ProductImportErrorResDto;
+import org.example.session.data.dtos.response.product.ProductImportResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Inventory;
+import org.example.session.db.entity.Product;
+import org.example.session.db.repositoty.InventoryRepo;
+import org.example.session.db.repositoty.ProductRepo;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.importing.ImportFormat;
+import org.example.session.service.importing.ProductImportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+@SpringBootTest(properties = "app.catalog.import.chunk-size=2")
+@ActiveProfiles("test")
+@Import(CatalogFixture.class)
+public class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private InventoryRepo inventoryRepo;
+
+    private UserServiceImpl seller;
+    private Category category;
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+        seller = fixture.seller("import");
+        category = fixture.category("Import");
+    }
+
+    @Test
+    public void importCsv_shouldWriteValidRowsInChunks_andReportBadOnes() throws Exception {
+        String csv = """
+                category_id,title,description,price,quantity
+                %1$d,Desk lamp,"Warm light, dimmable",2500,7
+                %1$d,"Chair ""Comfort""\",,4000,
+                999999,Ghost,,100,1
+                %1$d,,no title,100,1
+
+                %1$d,Bookshelf,"Two
+                lines",9000,3
+                %1$d,Bad price,,ten,1
+                """.formatted(category.getId());
+
+        ProductImportResDto report = importService.importProducts(seller, stream(csv), ImportFormat.CSV);
+
+        Assertions.assertEquals(6, report.getRowsRead());
+        Assertions.assertEquals(3, report.getImported());
+        Assertions.assertEquals(3, report.getFailed());
+        Assertions.assertEquals(List.of(4L, 5L, 9L), report.getErrors().stream().map(ProductImportErrorResDto::getLine).toList());
+        Assertions.assertNotNull(report.getRowsPerSecond());
+
+        List<Product> products = productRepo.findAll().stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .toList();
+        Assertions.assertEquals(List.of("Desk lamp", "Chair \"Comfort\"", "Bookshelf"),
+                products.stream().map(Product::getTitle).toList());
+        Assertions.assertEquals("Two\nlines", products.get(2).getDescription());
+        Assertions.assertTrue(products.stream().allMatch(p -> "DRAFT".equals(p.getStatus())));
+
+        List<Integer> quantities = products.stream()
+                .map(p -> inventoryRepo.findByProduct_Id(p.getId()).map(Inventory::getQuantity).orElseThrow())
+                .toList();
+        Assertions.assertEquals(List.of(7, 0, 3), quantities);
+    }
+
+    @Test
+    public void importNdjson_shouldSkipMalformedLines() throws Exception {
+        String ndjson = """
+                {"categoryId": %1$d, "title": "Mouse", "price": 1500, "quantity": 12}
+                {"categoryId": %1$d, "title": "Keyboard"
+                {"categoryId": %1$d, "title": "Monitor", "price": -1}
+                {"categoryId": %1$d, "title": "Webcam", "price": 3000}
+                """.formatted(category.getId());
+
+        ProductImportResDto report = importService.importProducts(seller, stream(ndjson), ImportFormat.NDJSON);
+
+        Assertions.assertEquals(4, report.getRowsRead());
+        Assertions.assertEquals(2, report.getImported());
+        Assertions.assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ProductImportErrorResDto::getLine).toList());
+        Assertions.assertEquals(2, productRepo.count());
+        Assertions.assertEquals(2, inventoryRepo.count());
+    }
+
+    @Test
+    public void importNdjson_shouldAcceptDocumentedFieldNames() throws Exception {
+        String ndjson = """
+                {"category_id": %1$d, "title": "Headset", "description": "Wired", "price": 4500, "quantity": 4}
+                """.formatted(category.getId());
+
+        ProductImportResDto report = importService.importProducts(seller, stream(ndjson), ImportFormat.NDJSON);
+
+        Assertions.assertEquals(1, report.getImported());
+        Assertions.assertTrue(report.getErrors().isEmpty());
+
+        Product product = productRepo.findAll().getFirst();
+        Assertions.assertEquals("Headset", product.getTitle());
+        Assertions.assertEquals("Wired", product.getDescription());
+        Assertions.assertEquals(category.getId(), product.getCategory().getId());
+        Assertions.assertEquals(4, inventoryRepo.findByProduct_Id(product.getId()).map(Inventory::getQuantity).orElseThrow());
+    }
+
+    @Test
+    public void importCsv_shouldRejectHeaderWithoutRequiredColumns() throws Exception {
+        ProductImportResDto report = importService.importProducts(seller, stream("name,cost\nLamp,10\n"), ImportFormat.CSV);
+
+        Assertions.assertEquals(0, report.getImported());
+        Assertions.assertEquals(1, report.getErrors().size());
+        Assertions.assertEquals(0, productRepo.count());
+    }
+
+    @Test
+    public void importFormat_shouldFollowContentType() {
+        Assertions.assertEquals(ImportFormat.CSV, ImportFormat.fromContentType("text/csv; charset=UTF-8"));
+        Assertions.assertEquals(ImportFormat.NDJSON, ImportFormat.fromContentType("application/x-ndjson"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ImportFormat.fromContentType("application/json"));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,24 +1,57 @@
 package org.example.session.services;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import org.example.session.data.dtos.request.product.ProductDto;
+import org.example.session.data.dtos.response.CategoryCountsReconcileResDto;
 import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.CatalogBrowseResDto;
+import org.example.session.data.dtos.response.product.CategoryFacetResDto;
+import org.example.session.data.dtos.response.product.ProductListingRebuildResDto;
+import org.example.session.data.dtos.response.product.ProductResDto;
 import org.example.session.db.entity.*;
+import org.example.session.db.projection.ProductSearchRow;
 import org.example.session.db.repositoty.*;
 import org.example.session.security.user.UserServiceImpl;
 import org.example.session.service.ProductService;
+import org.example.session.service.catalog.CatalogFilter;
+import org.example.session.service.catalog.CatalogSort;
+import org.example.session.service.category.CategoryProductCountService;
+import org.example.session.service.category.CategoryProductCounts;
+import org.example.session.service.listing.ProductListingService;
+import org.example.session.service.paging.CountMode;
+import org.example.session.service.paging.CursorPage;
+import org.example.session.service.paging.RowCountEstimator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -38,9 +71,31 @@ public class ProductServiceTest {
     @Autowired
     private RoleRepo roleRepo;
 
+    @Autowired
+    private ProductListingRepo productListingRepo;
+    @Autowired
+    private ProductListingService productListingService;
+
+    @Autowired
+    private CategoryProductCountService categoryProductCountService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private PasswordEncoder encoder;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
     @BeforeEach
     void setup() {
         inventoryRepo.deleteAll();
@@ -152,6 +207,44 @@ public class ProductServiceTest {
         }
     }
 
+    @Test
+    @Transactional
+    public void listPublicAfter_shouldWalkAllActive_withoutGapsOrDuplicates() {
+        User seller = createUser("seller16@mail.com", "Seller16", "SELLER");
+        Category cat = createCategory("CatKeyset");
+
+        Instant sameMoment = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Product p = createProductInDb(seller, cat, "K" + i, 10L, "ACTIVE");
+            p.setCreatedAt(i < 3 ? sameMoment : sameMoment.minusSeconds(i));
+            expected.add(p.getId());
+        }
+        createProductInDb(seller, cat, "K-draft", 10L, "DRAFT");
+
+        expected.sort(Comparator.<Integer, Instant>comparing(id -> productRepo.findById(id).orElseThrow().getCreatedAt())
+                .thenComparing(id -> id)
+                .reversed());
+
+        List<Integer> walked = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<ProductResDto> page = productService.listPublicAfter(cursor, 2);
+            page.items().forEach(p -> walked.add(p.getId().intValue()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, walked);
+        Assertions.assertEquals(3, pages);
+    }
+
+    @Test
+    public void listPublicAfter_shouldRejectMalformedCursor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.listPublicAfter("not-a-cursor", 10));
+    }
+
     @Test
     @Transactional
     public void listSellerProducts_shouldReturnOnlySellerProducts() {
@@ -173,6 +266,198 @@ public class ProductServiceTest {
         }
     }
 
+    @Test
+    @Transactional
+    public void listSellerProducts_shouldSkipCount_whenCountModeNone() {
+        User seller = createUser("seller17@mail.com", "Seller17", "SELLER");
+        Category cat = createCategory("CatSlice");
+
+        for (int i = 0; i < 3; i++) {
+            createProductInDb(seller, cat, "S" + i, 10L, "ACTIVE");
+        }
+
+        Slice<ProductResDto> first = productService.listSellerProducts(buildPrincipal(seller), 0, 2, CountMode.NONE);
+        Slice<ProductResDto> second = productService.listSellerProducts(buildPrincipal(seller), 1, 2, CountMode.NONE);
+
+        Assertions.assertFalse(first instanceof Page);
+        Assertions.assertEquals(2, first.getNumberOfElements());
+        Assertions.assertTrue(first.hasNext());
+        Assertions.assertEquals(1, second.getNumberOfElements());
+        Assertions.assertFalse(second.hasNext());
+    }
+
+    @Test
+    @Transactional
+    public void listSellerProducts_shouldReportAtLeastVisibleRows_whenCountModeEstimate() {
+        User seller = createUser("seller18@mail.com", "Seller18", "SELLER");
+        Category cat = createCategory("CatEstimate");
+
+        for (int i = 0; i < 3; i++) {
+            createProductInDb(seller, cat, "E" + i, 10L, "ACTIVE");
+        }
+
+        Slice<ProductResDto> slice = productService.listSellerProducts(buildPrincipal(seller), 0, 2, CountMode.ESTIMATE);
+
+        Page<?> page = Assertions.assertInstanceOf(Page.class, slice);
+        Assertions.assertEquals(2, page.getNumberOfElements());
+        Assertions.assertTrue(page.getTotalElements() >= 3);
+    }
+
+    @Test
+    public void rowCountEstimator_shouldUsePlannerEstimate_notRowsSeen() {
+        Assertions.assertEquals(1000, rowCountEstimator.estimate("select generate_series(1, 1000)"));
+        Assertions.assertEquals(42, RowCountEstimator.planRows(
+                "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 42, \"Plans\": [{\"Plan Rows\": 7}]}}]"));
+        Assertions.assertEquals(0, RowCountEstimator.planRows("[]"));
+
+        Slice<Integer> firstPage = new SliceImpl<>(List.of(1, 2), PageRequest.of(0, 2), true);
+        Assertions.assertEquals(1000, ((Page<Integer>) rowCountEstimator.withEstimatedTotal(firstPage, 1000)).getTotalElements());
+        Assertions.assertEquals(3, ((Page<Integer>) rowCountEstimator.withEstimatedTotal(firstPage, 1)).getTotalElements());
+
+        Slice<Integer> farPage = new SliceImpl<>(List.of(), PageRequest.of(50, 20), false);
+        Assertions.assertEquals(1000, ((Page<Integer>) rowCountEstimator.withEstimatedTotal(farPage,
+                rowCountEstimator.estimate("select generate_series(1, 1000)"))).getTotalElements());
+    }
+
+    @Test
+    @Transactional
+    public void productLists_shouldUseOneStatementPerPage_regardlessOfSellersAndCategories() {
+        for (int i = 0; i < 10; i++) {
+            User seller = createUser("seller_n" + i + "@mail.com", "SellerN" + i, "SELLER");
+            createProductInDb(seller, createCategory("CatN" + i), "N" + i, 10L, "ACTIVE");
+            createProductInDb(seller, createCategory("CatM" + i), "M" + i, 10L, "ACTIVE");
+        }
+        UserServiceImpl principal = buildPrincipal(userRepo.findByEmail("seller_n0@mail.com").orElseThrow());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsWereEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            Slice<ProductResDto> publicSlice = productService.listPublic(0, 20, CountMode.NONE);
+            Assertions.assertEquals(20, publicSlice.getNumberOfElements());
+            Assertions.assertTrue(publicSlice.getContent().stream().allMatch(p -> p.getSellerEmail() != null && p.getCategoryName() != null));
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+            Assertions.assertEquals(0, statistics.getEntityLoadCount());
+
+            statistics.clear();
+            productService.listPublic(0, 20, CountMode.EXACT);
+            Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+            statistics.clear();
+            productService.listPublicAfter("", 20);
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+            statistics.clear();
+            productService.listSellerProducts(principal, 0, 20, CountMode.NONE);
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+            Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        } finally {
+            statistics.setStatisticsEnabled(statisticsWereEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void search_shouldRankTitleMatches_andRespectStatusAndCategory() {
+        User seller = createUser("seller19@mail.com", "Seller19", "SELLER");
+        Category shoes = createCategory("Shoes");
+        Category socks = createCategory("Socks");
+
+        Product titleMatch = createProductInDb(seller, shoes, "Trail running shoes", 100L, "ACTIVE");
+        Product descriptionMatch = createProductInDb(seller, socks, "Wool socks", 10L, "ACTIVE");
+        descriptionMatch.setDescription("pairs well with running shoes");
+        createProductInDb(seller, shoes, "Draft running shoes", 100L, "DRAFT");
+        createProductInDb(seller, shoes, "Leather boots", 100L, "ACTIVE");
+
+        List<Integer> ranked = productService.search("running shoes", null, null, 10).items().stream()
+                .map(ProductSearchRow::getId)
+                .toList();
+        Assertions.assertEquals(List.of(titleMatch.getId(), descriptionMatch.getId()), ranked);
+
+        List<Integer> inCategory = productService.search("shoes", socks.getId(), null, 10).items().stream()
+                .map(ProductSearchRow::getId)
+                .toList();
+        Assertions.assertEquals(List.of(descriptionMatch.getId()), inCategory);
+
+        CursorPage<ProductSearchRow> first = productService.search("running shoes", null, null, 1);
+        CursorPage<ProductSearchRow> second = productService.search("running shoes", null, first.nextCursor(), 1);
+        Assertions.assertEquals(titleMatch.getId(), first.items().get(0).getId());
+        Assertions.assertEquals(descriptionMatch.getId(), second.items().get(0).getId());
+        Assertions.assertNull(second.nextCursor());
+    }
+
+    @Test
+    public void search_shouldRejectBlankQuery() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productService.search(" ", null, null, 10));
+    }
+
+    @Test
+    public void countMode_shouldParseCaseInsensitively_andRejectUnknown() {
+        Assertions.assertEquals(CountMode.EXACT, CountMode.parse(null));
+        Assertions.assertEquals(CountMode.NONE, CountMode.parse("none"));
+        Assertions.assertEquals(CountMode.ESTIMATE, CountMode.parse("Estimate"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMode.parse("approx"));
+    }
+
+    @Test
+    @Transactional
+    public void browse_shouldFilterSubtreePriceAndStock_andCountFacets() {
+        User seller = createUser("seller20@mail.com", "Seller20", "SELLER");
+        Category clothing = createCategory("Clothing");
+        Category shoes = createCategory("Shoes");
+        shoes.setParent(clothing);
+        Category boots = createCategory("Boots");
+        boots.setParent(shoes);
+        Category hats = createCategory("Hats");
+        hats.setParent(clothing);
+        Category other = createCategory("Other");
+
+        Product sneakers = createProductInDb(seller, shoes, "Sneakers", 3_000L, "ACTIVE");
+        Product winterBoots = createProductInDb(seller, boots, "Winter boots", 12_000L, "ACTIVE");
+        Product cap = createProductInDb(seller, hats, "Cap", 500L, "ACTIVE");
+        createProductInDb(seller, boots, "Draft boots", 4_000L, "DRAFT");
+        createProductInDb(seller, other, "Unrelated", 3_000L, "ACTIVE");
+        createInventory(sneakers, 5, 0);
+        createInventory(winterBoots, 2, 2);
+        createInventory(cap, 1, 0);
+        entityManager.flush();
+
+        CatalogBrowseResDto all = productService.browse(
+                new CatalogFilter(clothing.getId(), null, null, false, CatalogSort.PRICE_ASC), 0, 10);
+        Assertions.assertEquals(List.of(cap.getId().longValue(), sneakers.getId().longValue(), winterBoots.getId().longValue()),
+                all.getItems().stream().map(ProductResDto::getId).toList());
+        Assertions.assertFalse(all.getHasNext());
+        Assertions.assertEquals(List.of(1L, 1L, 0L, 1L, 0L, 0L),
+                all.getPriceBuckets().stream().map(b -> b.getCount()).toList());
+
+        List<CategoryFacetResDto> children = all.getCategories();
+        Assertions.assertEquals(2, children.size());
+        Assertions.assertEquals(1L, facetCount(children, hats));
+        Assertions.assertEquals(2L, facetCount(children, shoes));
+
+        CatalogBrowseResDto priced = productService.browse(
+                new CatalogFilter(clothing.getId(), 1_000L, 20_000L, true, null), 0, 10);
+        Assertions.assertEquals(List.of(sneakers.getId().longValue()),
+                priced.getItems().stream().map(ProductResDto::getId).toList());
+        Assertions.assertEquals(0L, facetCount(priced.getCategories(), hats));
+        Assertions.assertEquals(1L, facetCount(priced.getCategories(), shoes));
+
+        CatalogBrowseResDto firstPage = productService.browse(
+                new CatalogFilter(clothing.getId(), null, null, false, CatalogSort.PRICE_DESC), 0, 2);
+        Assertions.assertTrue(firstPage.getHasNext());
+        Assertions.assertEquals(winterBoots.getId().longValue(), firstPage.getItems().get(0).getId());
+    }
+
+    @Test
+    public void browse_shouldRejectInvertedPriceRange_andUnknownSort() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CatalogFilter(null, 10L, 5L, false, CatalogSort.NEWEST));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CatalogSort.parse("cheapest"));
+    }
+
     @Test
     @Transactional
     public void updateBySeller_shouldUpdate_whenOwner() throws Exception {
@@ -306,6 +591,162 @@ public class ProductServiceTest {
     }
 
 
+    @Test
+    @Transactional
+    public void productListing_shouldFollowProductStockAndCategoryWrites() throws Exception {
+        User seller = createUser("seller_listing@mail.com", "SellerListing", "SELLER");
+        UserServiceImpl principal = buildPrincipal(seller);
+        Category cat = createCategory("CatListing");
+
+        ProductDto dto = new ProductDto();
+        dto.setCategoryId(cat.getId());
+        dto.setTitle("Lamp");
+        dto.setDescription("desc");
+        dto.setPrice(300L);
+        Product created = productService.create(principal, dto);
+
+        ProductListing draft = listing(created.getId());
+        Assertions.assertEquals("DRAFT", draft.getStatus());
+        Assertions.assertEquals("seller_listing@mail.com", draft.getSellerEmail());
+        Assertions.assertEquals(0, draft.getAvailable());
+
+        ProductUpdateDto update = new ProductUpdateDto();
+        update.setCategoryId(cat.getId());
+        update.setTitle("Desk lamp");
+        update.setPrice(350L);
+        update.setStatus("ACTIVE");
+        productService.updateBySeller(principal, created.getId(), update);
+
+        Inventory inv = inventoryRepo.findByProduct_Id(created.getId()).orElseThrow();
+        inv.setQuantity(7);
+        inv.setReserved(2);
+
+        Category renamed = categoryRepo.findById(cat.getId()).orElseThrow();
+        renamed.setName("CatListing renamed");
+
+        ProductListing active = listing(created.getId());
+        Assertions.assertEquals("ACTIVE", active.getStatus());
+        Assertions.assertEquals("Desk lamp", active.getTitle());
+        Assertions.assertEquals(350L, active.getPrice());
+        Assertions.assertEquals(5, active.getAvailable());
+        Assertions.assertEquals("CatListing renamed", active.getCategoryName());
+
+        inventoryRepo.delete(inventoryRepo.findByProduct_Id(created.getId()).orElseThrow());
+        Assertions.assertEquals(0, listing(created.getId()).getAvailable());
+
+        Slice<ProductResDto> sellerPage = productService.listSellerProducts(principal, 0, 10, CountMode.EXACT);
+        Assertions.assertEquals(List.of(created.getId().longValue()),
+                sellerPage.getContent().stream().map(ProductResDto::getId).toList());
+    }
+
+    @Test
+    @Transactional
+    public void productListingRebuild_shouldRegenerateEveryRow() {
+        User seller = createUser("seller_rebuild@mail.com", "SellerRebuild", "SELLER");
+        Category cat = createCategory("CatRebuild");
+        Product active = createProductInDb(seller, cat, "R1", 10L, "ACTIVE");
+        createProductInDb(seller, cat, "R2", 20L, "DRAFT");
+        entityManager.flush();
+
+        entityManager.createNativeQuery("delete from product_listing").executeUpdate();
+        Assertions.assertEquals(0, productListingRepo.count());
+
+        ProductListingRebuildResDto res = productListingService.rebuild();
+
+        Assertions.assertEquals(2, res.getRows());
+        Assertions.assertEquals("R1", listing(active.getId()).getTitle());
+    }
+
+    @Test
+    @Transactional
+    public void listPublic_shouldHonourCountMode_forFilteredPagesFromSql() {
+        User seller = createUser("seller_filtered_count@mail.com", "SellerFilteredCount", "SELLER");
+        Category cat = createCategory("CatFilteredCount");
+        Category other = createCategory("CatFilteredOther");
+        for (int i = 0; i < 3; i++) {
+            createProductInDb(seller, cat, "F" + i, 100L, "ACTIVE");
+        }
+        createProductInDb(seller, other, "Other", 100L, "ACTIVE");
+        entityManager.flush();
+
+        CatalogFilter filter = new CatalogFilter(cat.getId(), null, null, false, CatalogSort.NEWEST);
+
+        Slice<ProductResDto> none = productService.listPublic(filter, 0, 2, CountMode.NONE);
+        Assertions.assertFalse(none instanceof Page);
+        Assertions.assertTrue(none.hasNext());
+
+        Page<ProductResDto> exact = (Page<ProductResDto>) productService.listPublic(filter, 0, 2, CountMode.EXACT);
+        Assertions.assertEquals(3, exact.getTotalElements());
+        Assertions.assertEquals(2, exact.getNumberOfElements());
+
+        Page<ProductResDto> estimate = (Page<ProductResDto>) productService.listPublic(filter, 0, 2, CountMode.ESTIMATE);
+        Assertions.assertTrue(estimate.getTotalElements() >= 3);
+    }
+
+    @Test
+    public void productListing_shouldKeepNewerStock_whenProductUpdateWaitsOnInventoryUpdate() throws Exception {
+        User seller = createUser("seller_listing_race@mail.com", "SellerListingRace", "SELLER");
+        Category cat = createCategory("CatListingRace");
+        Product product = createProductInDb(seller, cat, "Race", 100L, "ACTIVE");
+        createInventory(product, 3, 0);
+        Assertions.assertEquals(3, productListingRepo.findById(product.getId()).orElseThrow().getAvailable());
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch stockWritten = new CountDownLatch(1);
+        CountDownLatch commitStock = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> stock = pool.submit(() -> tx.executeWithoutResult(status -> {
+                jdbcTemplate.update("update inventory set quantity = 9 where product_id = ?", product.getId());
+                stockWritten.countDown();
+                await(commitStock);
+            }));
+            Assertions.assertTrue(stockWritten.await(10, TimeUnit.SECONDS));
+
+            Future<?> price = pool.submit(() -> tx.executeWithoutResult(status ->
+                    jdbcTemplate.update("update products set price = 150 where id = ?", product.getId())));
+            waitForLockWait();
+
+            commitStock.countDown();
+            stock.get(10, TimeUnit.SECONDS);
+            price.get(10, TimeUnit.SECONDS);
+        } finally {
+            commitStock.countDown();
+            pool.shutdownNow();
+        }
+
+        ProductListing row = productListingRepo.findById(product.getId()).orElseThrow();
+        Assertions.assertEquals(150L, row.getPrice());
+        Assertions.assertEquals(9, row.getAvailable());
+    }
+
+    private void waitForLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("""
+                select count(*) from pg_stat_activity
+                where datname = current_database() and wait_event_type = 'Lock'
+                """, Integer.class) == 0) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Product update never waited on the listing row");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ProductListing listing(Integer productId) {
+        entityManager.flush();
+        entityManager.clear();
+        return productListingRepo.findById(productId).orElseThrow();
+    }
+
     private User createUser(String email, String fullName, String roleName) {
         Role role = roleRepo.findByName(roleName)
                 .orElseGet(() -> {
@@ -328,6 +769,109 @@ public class ProductServiceTest {
         return userRepo.save(u);
     }
 
+    @Test
+    @Transactional
+    public void categoryProductCounts_shouldRollUpStatusAndCategoryChanges_andReconcile() throws Exception {
+        User seller = createUser("seller_counts@mail.com", "SellerCounts", "SELLER");
+        UserServiceImpl principal = buildPrincipal(seller);
+        Category root = createCategory("CountsRoot");
+        Category child = new Category();
+        child.setName("CountsChild " + UUID.randomUUID());
+        child.setParent(root);
+        child.setCreatedAt(Instant.now());
+        child = categoryRepo.save(child);
+        Category other = createCategory("CountsOther");
+        createProductInDb(seller, child, "Active from import", 100L, "ACTIVE");
+
+        ProductDto dto = new ProductDto();
+        dto.setCategoryId(child.getId());
+        dto.setTitle("Counted");
+        dto.setDescription("desc");
+        dto.setPrice(200L);
+        Product created = productService.create(principal, dto);
+
+        CategoryProductCounts draft = counts();
+        Assertions.assertEquals(1, draft.count(root.getId()));
+        Assertions.assertEquals(1, draft.count(child.getId()));
+
+        ProductUpdateDto update = new ProductUpdateDto();
+        update.setCategoryId(child.getId());
+        update.setTitle("Counted");
+        update.setPrice(200L);
+        update.setStatus("ACTIVE");
+        productService.updateBySeller(principal, created.getId(), update);
+
+        CategoryProductCounts active = counts();
+        Assertions.assertEquals(2, active.count(root.getId()));
+        Assertions.assertEquals(2, active.count(child.getId()));
+        Assertions.assertEquals(0, active.count(other.getId()));
+
+        update.setCategoryId(other.getId());
+        productService.updateBySeller(principal, created.getId(), update);
+
+        CategoryProductCounts moved = counts();
+        Assertions.assertEquals(1, moved.count(root.getId()));
+        Assertions.assertEquals(1, moved.count(other.getId()));
+
+        productService.archiveBySeller(principal, created.getId());
+
+        CategoryProductCounts archived = counts();
+        Assertions.assertEquals(1, archived.count(root.getId()));
+        Assertions.assertEquals(0, archived.count(other.getId()));
+        Assertions.assertFalse(archived.asMap().containsKey(other.getId()));
+
+        jdbcTemplate.update("update category_product_counts set active_count = 42 where category_id = ?", root.getId());
+        CategoryCountsReconcileResDto res = categoryProductCountService.reconcile();
+
+        Assertions.assertTrue(res.getCorrected() >= 1);
+        Assertions.assertEquals(1, categoryProductCountService.current().count(root.getId()));
+    }
+
+    @Test
+    @Transactional
+    public void categoryProductCounts_shouldFollowCategoryMoves() {
+        User seller = createUser("seller_counts_move@mail.com", "SellerCountsMove", "SELLER");
+        Category from = createCategory("CountsFrom");
+        Category to = createCategory("CountsTo");
+        Category branch = childOf(from, "CountsBranch");
+        Category leaf = childOf(branch, "CountsLeaf");
+        createProductInDb(seller, branch, "Branch product", 100L, "ACTIVE");
+        createProductInDb(seller, leaf, "Leaf product", 100L, "ACTIVE");
+        createProductInDb(seller, leaf, "Leaf product 2", 100L, "ACTIVE");
+        createProductInDb(seller, leaf, "Leaf draft", 100L, "DRAFT");
+
+        CategoryProductCounts before = counts();
+        Assertions.assertEquals(3, before.count(from.getId()));
+        Assertions.assertEquals(0, before.count(to.getId()));
+
+        branch.setParent(to);
+        CategoryProductCounts after = counts();
+        Assertions.assertEquals(0, after.count(from.getId()));
+        Assertions.assertEquals(3, after.count(to.getId()));
+        Assertions.assertEquals(3, after.count(branch.getId()));
+        Assertions.assertEquals(2, after.count(leaf.getId()));
+
+        branch.setParent(null);
+        CategoryProductCounts detached = counts();
+        Assertions.assertEquals(0, detached.count(to.getId()));
+        Assertions.assertEquals(3, detached.count(branch.getId()));
+
+        Assertions.assertEquals(0, categoryProductCountService.reconcile().getCorrected());
+    }
+
+    private Category childOf(Category parent, String name) {
+        Category c = new Category();
+        c.setName(name + " " + UUID.randomUUID());
+        c.setParent(parent);
+        c.setCreatedAt(Instant.now());
+        return categoryRepo.save(c);
+    }
+
+    private CategoryProductCounts counts() {
+        entityManager.flush();
+        return categoryProductCountService.reload();
+    }
+
     private Category createCategory(String name) {
         Category c = new Category();
         c.setName(name + " " + UUID.randomUUID());
@@ -351,6 +895,23 @@ public class ProductServiceTest {
         return productRepo.save(p);
     }
 
+    private Inventory createInventory(Product product, int quantity, int reserved) {
+        Inventory inv = new Inventory();
+        inv.setProduct(product);
+        inv.setQuantity(quantity);
+        inv.setReserved(reserved);
+        inv.setUpdatedAt(Instant.now());
+        return inventoryRepo.save(inv);
+    }
+
+    private static long facetCount(List<CategoryFacetResDto> facets, Category category) {
+        return facets.stream()
+                .filter(f -> f.getCategoryId() == category.getId().longValue())
+                .findFirst()
+                .orElseThrow()
+                .getCount();
+    }
+
     private UserServiceImpl buildPrincipal(User user) {
         return new UserServiceImpl(user);
     }
@@ -0,0 +1,119 @@
+package org.example.session.services;
+
+import org.example.session.data.dtos.request.product.ProductBulkUpdateDto;
+import org.example.session.data.dtos.request.product.ProductUpdateDto;
+import org.example.session.data.dtos.response.product.ProductSuggestionResDto;
+import org.example.session.db.entity.Category;
+import org.example.session.db.entity.Product;
+import org.example.session.security.user.UserServiceImpl;
+import org.example.session.service.ProductService;
+import org.example.session.service.search.ProductSuggestService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.example.session.services.CatalogFixture.productDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(CatalogFixture.class)
+public class ProductSuggestServiceTest {
+
+    @Autowired
+    private ProductSuggestService suggestService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogFixture fixture;
+
+    private UserServiceImpl seller;
+    private Category category;
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+        seller = fixture.seller("suggest");
+        category = fixture.category("Suggest");
+
+        suggestService.rebuild();
+    }
+
+    @Test
+    public void suggest_shouldFollowProductWrites() throws Exception {
+        Product phone = createActive("Apple iPhone 15 Pro");
+        Product case1 = createActive("iPhone silicone case");
+        Product draft = productService.create(seller, productDto(category, "iPhone charger"));
+
+        Assertions.assertEquals(List.of(case1.getId().longValue(), phone.getId().longValue()), ids(suggestService.suggest("iph", 10)));
+        Assertions.assertEquals(List.of(phone.getId().longValue()), ids(suggestService.suggest("iphone pr", 10)));
+        Assertions.assertFalse(ids(suggestService.suggest("charger", 10)).contains(draft.getId().longValue()));
+
+        productService.archiveBySeller(seller, phone.getId());
+        Assertions.assertEquals(List.of(case1.getId().longValue()), ids(suggestService.suggest("iphone", 10)));
+    }
+
+    @Test
+    public void suggest_shouldTolerateSmallTypos() throws Exception {
+        Product case1 = createActive("Silicone case");
+
+        Assertions.assertEquals(List.of(case1.getId().longValue()), ids(suggestService.suggest("silicon cas", 10)));
+        Assertions.assertEquals(List.of(case1.getId().longValue()), ids(suggestService.suggest("silikone case", 10)));
+        Assertions.assertEquals(List.of(case1.getId().longValue()), ids(suggestService.suggest("silv", 10)));
+        Assertions.assertTrue(suggestService.suggest("zzz", 10).isEmpty());
+    }
+
+    @Test
+    public void suggest_shouldFollowBulkStatusChanges() {
+        Product tent = productService.create(seller, productDto(category, "Camping tent"));
+        Product stove = productService.create(seller, productDto(category, "Camping stove"));
+        Assertions.assertTrue(suggestService.suggest("camping", 10).isEmpty());
+
+        ProductBulkUpdateDto dto = new ProductBulkUpdateDto();
+        dto.setItems(List.of(activate(tent.getId()), activate(stove.getId())));
+        productService.bulkUpdateBySeller(seller, dto);
+
+        Assertions.assertEquals(List.of(stove.getId().longValue(), tent.getId().longValue()),
+                ids(suggestService.suggest("camping", 10)));
+    }
+
+    @Test
+    public void rebuild_shouldIndexOnlyActiveProducts() throws Exception {
+        Product active = createActive("Wireless mouse");
+        productService.create(seller, productDto(category, "Wireless keyboard"));
+
+        suggestService.rebuild();
+
+        Assertions.assertEquals(List.of(active.getId().longValue()), ids(suggestService.suggest("wireless", 10)));
+    }
+
+    private Product createActive(String title) throws Exception {
+        Product created = productService.create(seller, productDto(title));
+
+        ProductUpdateDto update = new ProductUpdateDto();
+        update.setCategoryId(category.getId());
+        update.setTitle(title);
+        update.setDescription("desc");
+        update.setPrice(100L);
+        update.setStatus("ACTIVE");
+        return productService.updateBySeller(seller, created.getId(), update);
+    }
+
+    private static ProductBulkUpdateDto.Item activate(Integer id) {
+        ProductBulkUpdateDto.Item item = new ProductBulkUpdateDto.Item();
+        item.setId(id);
+        item.setStatus("ACTIVE");
+        return item;
+    }
+
+    private List<Long> ids(List<ProductSuggestionResDto> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResDto::getId).toList();
+    }
+}